@@ -0,0 +1,74 @@
+package com.example.NewsWebsite.Cache;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+//digest of the fields a client sees, equal results hash the same without serializing them to JSON first
+public final class ContentHash {
+
+    private final MessageDigest digest;
+
+    private ContentHash() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static ContentHash start() {
+        return new ContentHash();
+    }
+
+    public ContentHash add(String value) {
+        // a marker byte keeps null apart from "" and the separator keeps ("ab", "c") apart from ("a", "bc")
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return this;
+    }
+
+    public ContentHash addAll(Iterable<String> values) {
+        for (String value : values) {
+            add(value);
+        }
+        return end();
+    }
+
+    public ContentHash add(ArticleDTO article) {
+        add(article.getTitle()).add(article.getDescription()).add(article.getContent()).add(article.getUrl())
+                .add(article.getImageUrl()).add(article.getSourceName())
+                .add(article.getPublishedAt() == null ? null : article.getPublishedAt().toString())
+                .add(article.getLanguage()).add(article.getSentiment()).add(article.getCategory());
+        if (article.getAlsoReportedBy() != null) {
+            addAll(article.getAlsoReportedBy());
+        }
+        return end();
+    }
+
+    public ContentHash addArticles(Iterable<ArticleDTO> articles) {
+        for (ArticleDTO article : articles) {
+            add(article);
+        }
+        return end();
+    }
+
+    //closes a list or an article with a marker of its own, so a trailing null value can't pass for the end
+    private ContentHash end() {
+        digest.update((byte) 2);
+        return this;
+    }
+
+    //128 bits as hex, plenty to tell result sets apart
+    public String hex() {
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.NewsWebsite.Cache;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Service.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//caches provider results by endpoint and normalized parameters, stale entries are served while one background refresh runs
+@Component
+public class ProviderResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderResponseCache.class);
+
+    private final Environment environment;
+    private final Executor refreshExecutor;
+    private final long defaultTtlMillis;
+    private final long maxStaleMillis;
+    private final long maxBytes;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(128, 0.75f, true);
+    private final Map<String, CompletableFuture<List<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public ProviderResponseCache(Environment environment,
+                                 @Qualifier("providerExecutor") ExecutorService refreshExecutor,
+                                 @Value("${news.cache.default-ttl-ms:120000}") long defaultTtlMillis,
+                                 @Value("${news.cache.max-stale-ms:600000}") long maxStaleMillis,
+                                 @Value("${news.cache.max-bytes:67108864}") long maxBytes) {
+        this(environment, refreshExecutor, defaultTtlMillis, maxStaleMillis, maxBytes, System::currentTimeMillis);
+    }
+
+    ProviderResponseCache(Environment environment, Executor refreshExecutor, long defaultTtlMillis,
+                          long maxStaleMillis, long maxBytes, LongSupplier clock) {
+        this.environment = environment;
+        this.refreshExecutor = refreshExecutor;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    //the ttl of an endpoint can be overridden with news.cache.ttl-ms.<endpoint>
+    @SuppressWarnings("unchecked")
+    public <T> Mono<List<T>> getAsync(String endpoint, Supplier<Mono<List<T>>> loader, Object... params) {
+        String key = keyFor(endpoint, params);
+        long now = clock.getAsLong();
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (RequestPriority.current() == RequestPriority.BACKGROUND) {
+            // background work exists to refresh the data, so it always goes upstream
+            return loadOrPrevious(key, endpoint, loader, entry);
+        }
+        if (entry != null && now < entry.freshUntil) {
+            hits.incrementAndGet();
+            return Mono.just((List<T>) entry.value);
+        }
+        if (entry != null && now < entry.staleUntil) {
+            staleHits.incrementAndGet();
+            refreshInBackground(key, endpoint, loader);
+            return Mono.just((List<T>) entry.value);
+        }
+
+        misses.incrementAndGet();
+        return loadOrPrevious(key, endpoint, loader, entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<List<T>> loadOrPrevious(String key, String endpoint, Supplier<Mono<List<T>>> loader, Entry previous) {
+        return loadAsync(key, endpoint, loader)
+                // the provider failed or was short-circuited, an old answer is better than none
+                .onErrorResume(e -> previous != null, e -> Mono.just(previous.value))
+                .map(loaded -> (List<T>) loaded);
+    }
+
+    //concurrent misses for the same key share one upstream call, which runs to the end even if a waiter gives up
+    private Mono<List<?>> loadAsync(String key, String endpoint, Supplier<? extends Mono<? extends List<?>>> loader) {
+        RequestPriority priority = RequestPriority.current();
+        return Mono.defer(() -> {
+            CompletableFuture<List<?>> mine = new CompletableFuture<>();
+            CompletableFuture<List<?>> existing = inFlight.putIfAbsent(key, mine);
+            if (existing != null) {
+                return Mono.fromFuture(existing, true);
+            }
+            try {
+                // subscribing under the priority too, so calls assembled lazily inside the loader see it
+                RequestPriority.runAs(priority, () -> loader.get()
+                        .<List<?>>map(List::copyOf)
+                        .defaultIfEmpty(List.of())
+                        .subscribe(value -> {
+                            put(key, endpoint, value);
+                            inFlight.remove(key, mine);
+                            mine.complete(value);
+                        }, error -> {
+                            inFlight.remove(key, mine);
+                            mine.completeExceptionally(error);
+                        }));
+            } catch (RuntimeException e) {
+                inFlight.remove(key, mine);
+                mine.completeExceptionally(e);
+            }
+            return Mono.fromFuture(mine, true);
+        });
+    }
+
+    //a key has at most one refresh queued or running, however many requests see it stale
+    private void refreshInBackground(String key, String endpoint, Supplier<? extends Mono<? extends List<?>>> loader) {
+        if (inFlight.containsKey(key) || !refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                refreshes.incrementAndGet();
+                try {
+                    RequestPriority.background(() -> loadAsync(key, endpoint, loader).block());
+                } catch (Exception e) {
+                    log.warn("Background refresh of {} failed: {}", endpoint, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.warn("Background refresh of {} rejected: {}", endpoint, e.getMessage());
+        }
+    }
+
+    private void put(String key, String endpoint, List<?> value) {
+        long now = clock.getAsLong();
+        long ttl = environment.getProperty("news.cache.ttl-ms." + endpoint, Long.class, defaultTtlMillis);
+        Entry entry = new Entry(value, now + ttl, now + ttl + maxStaleMillis, estimateBytes(value));
+
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.bytes;
+            }
+            totalBytes += entry.bytes;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                totalBytes -= evicted.bytes;
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static String keyFor(String endpoint, Object... params) {
+        StringJoiner key = new StringJoiner("|", endpoint + "|", "");
+        for (Object param : params) {
+            key.add(param == null ? "" : param.toString().trim().toLowerCase(Locale.ROOT));
+        }
+        return key.toString();
+    }
+
+    //rough heap footprint, good enough to keep the cache under its memory bound
+    private static long estimateBytes(List<?> value) {
+        long bytes = 64;
+        for (Object item : value) {
+            if (item instanceof ArticleDTO article) {
+                bytes += 160 + sizeOf(article.getTitle()) + sizeOf(article.getDescription()) + sizeOf(article.getContent())
+                        + sizeOf(article.getUrl()) + sizeOf(article.getImageUrl()) + sizeOf(article.getSourceName())
+                        + sizeOf(article.getLanguage()) + sizeOf(article.getSentiment()) + sizeOf(article.getCategory());
+            } else {
+                bytes += sizeOf(String.valueOf(item));
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private static final class Entry {
+        private final List<?> value;
+        private final long freshUntil;
+        private final long staleUntil;
+        private final long bytes;
+
+        private Entry(List<?> value, long freshUntil, long staleUntil, long bytes) {
+            this.value = value;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.NewsWebsite.Cache;
+
+import com.example.NewsWebsite.Model.AggregatedNews;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//keeps merged results for a while so later pages are sliced from memory instead of calling the providers again
+@Component
+public class ResultSnapshotStore {
+
+    private final long ttlMillis;
+    private final int maxSnapshots;
+
+    private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return size() > maxSnapshots;
+        }
+    };
+
+    public ResultSnapshotStore(@Value("${news.pagination.snapshot-ttl-ms:300000}") long ttlMillis,
+                               @Value("${news.pagination.max-snapshots:1000}") int maxSnapshots) {
+        this.ttlMillis = ttlMillis;
+        this.maxSnapshots = maxSnapshots;
+    }
+
+    //ids are content hashes, so saving an unchanged result again renews its snapshot and hands out the same cursors
+    public String save(AggregatedNews result) {
+        String id = ContentHash.start().addArticles(result.getArticles()).addAll(result.getMissingProviders()).hex();
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (snapshots) {
+            Snapshot existing = snapshots.get(id);
+            AggregatedNews copy = existing != null ? existing.result
+                    : new AggregatedNews(List.copyOf(result.getArticles()), List.copyOf(result.getMissingProviders()));
+            snapshots.put(id, new Snapshot(copy, expiresAt));
+        }
+        return id;
+    }
+
+    //null when the snapshot expired or was evicted
+    public AggregatedNews find(String id) {
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.get(id);
+            if (snapshot == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() > snapshot.expiresAt) {
+                snapshots.remove(id);
+                return null;
+            }
+            return snapshot.result;
+        }
+    }
+
+    public int size() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    private static final class Snapshot {
+        private final AggregatedNews result;
+        private final long expiresAt;
+
+        private Snapshot(AggregatedNews result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.NewsWebsite.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    //threads used to call the news providers at the same time, one virtual thread per task when virtual threads are enabled
+    @Bean(name = "providerExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService providerExecutor(@Value("${news.aggregator.pool-size:16}") int poolSize,
+                                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-", 0).factory());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("provider-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.NewsWebsite.Config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+
+//one pooled client shared by the news providers and the sentiment service so connections are reused
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${http.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${http.pool.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${http.pool.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${http.pool.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider providerConnectionProvider(HttpPoolMetrics poolMetrics,
+                                                         @Value("${http.pool.newsapi.max-connections:20}") int newsApiConnections,
+                                                         @Value("${http.pool.gnews.max-connections:20}") int gNewsConnections,
+                                                         @Value("${http.pool.sentiment.max-connections:20}") int sentimentConnections,
+                                                         @Value("${newsapi.base-url:https://newsapi.org/v2}") String newsApiUrl,
+                                                         @Value("${gnews.base-url:https://gnews.io/api/v4}") String gNewsUrl,
+                                                         @Value("${sentiment.api.url:http://localhost:5000}") String sentimentApiUrl) {
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("providers")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true, () -> poolMetrics);
+
+        // host specific pools do not inherit the defaults above, so every option is repeated
+        builder.forRemoteHost(remoteAddress(newsApiUrl),
+                spec -> configureHost(spec, newsApiConnections, poolMetrics));
+        builder.forRemoteHost(remoteAddress(gNewsUrl),
+                spec -> configureHost(spec, gNewsConnections, poolMetrics));
+        builder.forRemoteHost(remoteAddress(sentimentApiUrl),
+                spec -> configureHost(spec, sentimentConnections, poolMetrics));
+
+        return builder.build();
+    }
+
+    //host and port the pool of a base url is keyed by
+    private static InetSocketAddress remoteAddress(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+
+    @Bean
+    public WebClient providerWebClient(WebClient.Builder webClientBuilder,
+                                       ConnectionProvider providerConnectionProvider,
+                                       @Value("${http.client.connect-timeout-ms:3000}") int connectTimeoutMs,
+                                       @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMs,
+                                       @Value("${http.client.max-in-memory-bytes:4194304}") int maxInMemoryBytes) {
+        HttpClient httpClient = HttpClient.create(providerConnectionProvider)
+                .compress(true)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemoryBytes))
+                .build();
+    }
+
+    private void configureHost(ConnectionProvider.HostSpecificSpec spec, int hostConnections, HttpPoolMetrics poolMetrics) {
+        spec.maxConnections(hostConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true, () -> poolMetrics);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.NewsWebsite.Config;
+
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//keeps a handle on every connection pool the provider client opens so their usage can be reported
+@Component
+public class HttpPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(remoteAddress.toString(), metrics);
+    }
+
+    //active, idle and pending acquire counts per remote host
+    public Map<String, Map<String, Integer>> snapshot() {
+        Map<String, Map<String, Integer>> snapshot = new LinkedHashMap<>();
+        pools.forEach((host, metrics) -> {
+            Map<String, Integer> pool = new LinkedHashMap<>();
+            pool.put("active", metrics.acquiredSize());
+            pool.put("idle", metrics.idleSize());
+            pool.put("allocated", metrics.allocatedSize());
+            pool.put("pendingAcquires", metrics.pendingAcquireSize());
+            pool.put("maxConnections", metrics.maxAllocatedSize());
+            snapshot.put(host, pool);
+        });
+        return snapshot;
+    }
+}
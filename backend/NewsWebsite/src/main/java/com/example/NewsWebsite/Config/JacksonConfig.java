@@ -0,0 +1,19 @@
+package com.example.NewsWebsite.Config;
+
+import com.example.NewsWebsite.Controller.ArticleFields;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//articles are serialized through a property filter, responses without a projection write every property
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer articleFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(ArticleFields.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
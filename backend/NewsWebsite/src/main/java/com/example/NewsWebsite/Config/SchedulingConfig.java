@@ -0,0 +1,10 @@
+package com.example.NewsWebsite.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//enables the @Scheduled background refreshes
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
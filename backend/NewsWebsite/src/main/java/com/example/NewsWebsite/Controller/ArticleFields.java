@@ -0,0 +1,75 @@
+package com.example.NewsWebsite.Controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//which article properties a response carries: all of them, the summary view of the article cards or an explicit
+//fields= list, properties left out are skipped by the serializer instead of being written as null
+public final class ArticleFields {
+
+    //filter id on ArticleDTO, the default registration in JacksonConfig writes every property
+    public static final String FILTER = "articleFields";
+
+    static final List<String> PROPERTIES = List.of("title", "description", "content", "url", "imageUrl", "sourceName",
+            "publishedAt", "language", "sentiment", "category", "alsoReportedBy");
+
+    private static final Set<String> SUMMARY = Set.of("title", "description", "url", "imageUrl", "sourceName",
+            "publishedAt", "sentiment", "alsoReportedBy");
+
+    public static final ArticleFields ALL = new ArticleFields(null);
+
+    private final List<String> included;
+    private final FilterProvider filters;
+
+    //kept in ArticleDTO order whatever order they were asked in, so fields=url,title and fields=title,url are one representation
+    private ArticleFields(Set<String> included) {
+        this.included = included == null ? null : PROPERTIES.stream().filter(included::contains).toList();
+        this.filters = new SimpleFilterProvider().addFilter(FILTER, included == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(included));
+    }
+
+    //fields wins over view, unknown names are rejected so a typo does not silently return empty articles
+    public static ArticleFields parse(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> included = new HashSet<>();
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!PROPERTIES.contains(name)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown article field: " + name);
+                }
+                included.add(name);
+            }
+            return included.isEmpty() ? ALL : new ArticleFields(included);
+        }
+        if (view == null || view.isBlank() || view.equalsIgnoreCase("full")) {
+            return ALL;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return new ArticleFields(SUMMARY);
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown article view: " + view);
+    }
+
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+
+    //part of the representation, so it goes into the ETag; null for every property
+    List<String> included() {
+        return included;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.NewsWebsite.Controller;
+
+import com.example.NewsWebsite.Cache.ContentHash;
+import com.example.NewsWebsite.Cache.ResultSnapshotStore;
+import com.example.NewsWebsite.Model.AggregatedNews;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+//shapes article responses: the missing providers header, cursor pagination over a result snapshot
+//and HTTP caching with content-hash ETags
+@Component
+public class ArticlePages {
+
+    static final String MISSING_PROVIDERS_HEADER = "X-Missing-Providers";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ResultSnapshotStore snapshotStore;
+    private final Environment environment;
+    private final int maxLimit;
+    private final long defaultMaxAgeSeconds;
+    private final long defaultStaleWhileRevalidateSeconds;
+
+    public ArticlePages(ResultSnapshotStore snapshotStore, Environment environment,
+                        @Value("${news.pagination.max-limit:100}") int maxLimit,
+                        @Value("${news.http.cache.max-age-s:60}") long defaultMaxAgeSeconds,
+                        @Value("${news.http.cache.stale-while-revalidate-s:300}") long defaultStaleWhileRevalidateSeconds) {
+        this.snapshotStore = snapshotStore;
+        this.environment = environment;
+        this.maxLimit = maxLimit;
+        this.defaultMaxAgeSeconds = defaultMaxAgeSeconds;
+        this.defaultStaleWhileRevalidateSeconds = defaultStaleWhileRevalidateSeconds;
+    }
+
+    //a cursor pages through its snapshot without searching again, otherwise the search runs and the first page is returned
+    public ResponseEntity<MappingJacksonValue> respond(String endpoint, Supplier<AggregatedNews> search, Integer limit, String cursor,
+                                                      ArticleFields fields, String ifNoneMatch) {
+        if (limit != null && (limit < 1 || limit > maxLimit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            return nextPage(endpoint, cursor, limit, fields, ifNoneMatch);
+        }
+        return firstPage(endpoint, search.get(), limit, fields, ifNoneMatch);
+    }
+
+    //non-blocking variant of respond for the reactive controller
+    public Mono<ResponseEntity<MappingJacksonValue>> respondAsync(String endpoint, Supplier<Mono<AggregatedNews>> search, Integer limit, String cursor,
+                                                                  ArticleFields fields, String ifNoneMatch) {
+        if (limit != null && (limit < 1 || limit > maxLimit)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            return Mono.just(nextPage(endpoint, cursor, limit, fields, ifNoneMatch));
+        }
+        return search.get().map(result -> firstPage(endpoint, result, limit, fields, ifNoneMatch));
+    }
+
+    //sources and categories get the same validators and cache headers as the article pages
+    public ResponseEntity<List<String>> respondValues(String endpoint, List<String> values, String ifNoneMatch) {
+        String etag = etagOf(ContentHash.start().addAll(values));
+        CacheControl cacheControl = cacheControlFor(endpoint, false);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(values);
+    }
+
+    private ResponseEntity<MappingJacksonValue> firstPage(String endpoint, AggregatedNews result, Integer limit, ArticleFields fields, String ifNoneMatch) {
+        if (limit == null) {
+            return page(endpoint, result, result.getArticles(), null, fields, ifNoneMatch);
+        }
+        List<ArticleDTO> articles = result.getArticles();
+        if (articles.size() <= limit) {
+            return page(endpoint, result, articles, null, fields, ifNoneMatch);
+        }
+        String snapshotId = snapshotStore.save(result);
+        return page(endpoint, result, articles.subList(0, limit), encode(snapshotId, limit), fields, ifNoneMatch);
+    }
+
+    private ResponseEntity<MappingJacksonValue> nextPage(String endpoint, String cursor, Integer limit, ArticleFields fields, String ifNoneMatch) {
+        String[] position = decode(cursor);
+        if (position == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        AggregatedNews result = snapshotStore.find(position[0]);
+        if (result == null) {
+            // the snapshot expired, the client has to start the search over
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        int offset = Integer.parseInt(position[1]);
+        List<ArticleDTO> articles = result.getArticles();
+        int from = Math.min(offset, articles.size());
+        int to = Math.min(from + (limit == null ? maxLimit : limit), articles.size());
+        return page(endpoint, result, articles.subList(from, to), to < articles.size() ? encode(position[0], to) : null, fields, ifNoneMatch);
+    }
+
+    //the ETag covers everything the client sees, so a match is answered with 304 before the page is serialized
+    private ResponseEntity<MappingJacksonValue> page(String endpoint, AggregatedNews result, List<ArticleDTO> articles, String nextCursor,
+                                                     ArticleFields fields, String ifNoneMatch) {
+        ContentHash hash = ContentHash.start().addArticles(articles).addAll(result.getMissingProviders()).add(nextCursor);
+        if (fields.included() != null) {
+            hash.addAll(fields.included());
+        }
+        String etag = etagOf(hash);
+        boolean notModified = matches(ifNoneMatch, etag);
+        ResponseEntity.BodyBuilder response = notModified ? ResponseEntity.status(HttpStatus.NOT_MODIFIED) : ResponseEntity.ok();
+        response.eTag(etag).cacheControl(cacheControlFor(endpoint, !result.getMissingProviders().isEmpty()));
+        if (!result.getMissingProviders().isEmpty()) {
+            response.header(MISSING_PROVIDERS_HEADER, String.join(",", result.getMissingProviders()));
+        }
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return notModified ? response.build() : response.body(fields.wrap(articles));
+    }
+
+    //news.http.cache.<endpoint>.max-age-s and .stale-while-revalidate-s override the defaults,
+    //partial results are only served after revalidation so a recovered provider shows up on the next poll
+    private CacheControl cacheControlFor(String endpoint, boolean partial) {
+        long maxAgeSeconds = environment.getProperty("news.http.cache." + endpoint + ".max-age-s", Long.class, defaultMaxAgeSeconds);
+        if (partial || maxAgeSeconds <= 0) {
+            return CacheControl.noCache();
+        }
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        long staleSeconds = environment.getProperty("news.http.cache." + endpoint + ".stale-while-revalidate-s", Long.class, defaultStaleWhileRevalidateSeconds);
+        return staleSeconds > 0 ? cacheControl.staleWhileRevalidate(Duration.ofSeconds(staleSeconds)) : cacheControl;
+    }
+
+    //weak because the same articles may go out as different bytes (compression, field order)
+    private static String etagOf(ContentHash hash) {
+        return "W/\"" + hash.hex() + "\"";
+    }
+
+    //If-None-Match uses weak comparison, so W/ prefixes are ignored on both sides
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if ((tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String encode(String snapshotId, int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((snapshotId + ":" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //null when the cursor was not issued by this server
+    private static String[] decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2 || Integer.parseInt(position[1]) < 0) {
+                return null;
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
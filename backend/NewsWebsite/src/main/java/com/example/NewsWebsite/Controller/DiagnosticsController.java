@@ -0,0 +1,80 @@
+package com.example.NewsWebsite.Controller;
+
+import com.example.NewsWebsite.Cache.ProviderResponseCache;
+import com.example.NewsWebsite.Cache.ResultSnapshotStore;
+import com.example.NewsWebsite.Cache.SentimentCache;
+import com.example.NewsWebsite.Config.HttpPoolMetrics;
+import com.example.NewsWebsite.Resilience.ProviderResilience;
+import com.example.NewsWebsite.Search.ArticleIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@CrossOrigin(origins = "*")
+public class DiagnosticsController {
+
+    @Autowired
+    private SentimentCache sentimentCache;
+
+    @Autowired
+    private ProviderResponseCache providerResponseCache;
+
+    @Autowired
+    private HttpPoolMetrics httpPoolMetrics;
+
+    @Autowired
+    private ArticleIndex articleIndex;
+
+    @Autowired
+    private ResultSnapshotStore resultSnapshotStore;
+
+    @Autowired
+    private ProviderResilience providerResilience;
+
+    //hit, miss and eviction counters of the in-process caches
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> sentiment = new LinkedHashMap<>();
+        sentiment.put("size", sentimentCache.size());
+        sentiment.put("hits", sentimentCache.getHits());
+        sentiment.put("misses", sentimentCache.getMisses());
+        sentiment.put("evictions", sentimentCache.getEvictions());
+
+        Map<String, Object> providerResponses = new LinkedHashMap<>();
+        providerResponses.put("size", providerResponseCache.size());
+        providerResponses.put("bytes", providerResponseCache.getTotalBytes());
+        providerResponses.put("hits", providerResponseCache.getHits());
+        providerResponses.put("staleHits", providerResponseCache.getStaleHits());
+        providerResponses.put("misses", providerResponseCache.getMisses());
+        providerResponses.put("refreshes", providerResponseCache.getRefreshes());
+        providerResponses.put("evictions", providerResponseCache.getEvictions());
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("documents", articleIndex.size());
+        index.put("terms", articleIndex.termCount());
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("sentiment", sentiment);
+        caches.put("providerResponses", providerResponses);
+        caches.put("articleIndex", index);
+        caches.put("resultSnapshots", Map.of("size", resultSnapshotStore.size()));
+        return ResponseEntity.ok(caches);
+    }
+
+    //active, idle and pending acquire counts of the shared provider connection pools
+    @GetMapping("/http-pools")
+    public ResponseEntity<Map<String, Map<String, Integer>>> getHttpPoolStats() {
+        return ResponseEntity.ok(httpPoolMetrics.snapshot());
+    }
+
+    //circuit breaker state per provider endpoint, bulkhead usage, hedge win rates and quota spend
+    @GetMapping("/resilience")
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        return ResponseEntity.ok(providerResilience.snapshot());
+    }
+}
@@ -3,76 +3,119 @@ package com.example.NewsWebsite.Controller;
 import com.example.NewsWebsite.Model.ArticleDTO;
 import com.example.NewsWebsite.Service.NewsAggregatorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/news")
-@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "news.execution.mode", havingValue = "blocking", matchIfMissing = true)
+@CrossOrigin(origins = "*", exposedHeaders = {ArticlePages.MISSING_PROVIDERS_HEADER, ArticlePages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class NewsController {
 
     @Autowired
     private NewsAggregatorService newsAggregatorService;
 
+    @Autowired
+    private ArticlePages articlePages;
+
     //search by query endpoint
     @GetMapping("/search")
-    public ResponseEntity<List<ArticleDTO>> searchNews(@RequestParam String query, @RequestParam(defaultValue = "en") String language) {
-        List<ArticleDTO> articles = newsAggregatorService.searchNews(query, language);
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<MappingJacksonValue> searchNews(@RequestParam String query, @RequestParam(defaultValue = "en") String language,
+                                                          @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respond("search", () -> newsAggregatorService.searchNews(query, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
     }
 
     //endpoint to get sources from both APIs
     @GetMapping("/sources")
-    public ResponseEntity<List<String>> getSources(@RequestParam(defaultValue = "en") String language){
+    public ResponseEntity<List<String>> getSources(@RequestParam(defaultValue = "en") String language,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
         List<String> sources=newsAggregatorService.getSources(language);
-        return ResponseEntity.ok(sources);
+        return articlePages.respondValues("sources", sources, ifNoneMatch);
     }
 
     //endpoint to get top headlines
     @GetMapping("/top-headlines")
-    public ResponseEntity<List<ArticleDTO>> getTopHeadlines(@RequestParam(defaultValue = "en") String language) {
-        List<ArticleDTO> topHeadlines = newsAggregatorService.getTopHeadlines(language);
-        return ResponseEntity.ok(topHeadlines);
+    public ResponseEntity<MappingJacksonValue> getTopHeadlines(@RequestParam(defaultValue = "en") String language,
+                                                               @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respond("top-headlines", () -> newsAggregatorService.getTopHeadlines(language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
     }
 
     //endpoint to get news by source
     @GetMapping("/search-by-source")
-    public ResponseEntity<List<ArticleDTO>> searchNewsBySource(@RequestParam String source, @RequestParam(defaultValue = "en") String language) {
-        List<ArticleDTO> articles = newsAggregatorService.searchNewsBySource(source, language);
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<MappingJacksonValue> searchNewsBySource(@RequestParam String source, @RequestParam(defaultValue = "en") String language,
+                                                                  @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respond("search-by-source", () -> newsAggregatorService.searchNewsBySource(source, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
     }
 
     //endpoint to get news by category
     @GetMapping("/search-by-category")
-    public ResponseEntity<List<ArticleDTO>> searchNewsByCategory(@RequestParam String category, @RequestParam(defaultValue = "en") String language) {
-        List<ArticleDTO> articles = newsAggregatorService.searchNewsByCategory(category, language);
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<MappingJacksonValue> searchNewsByCategory(@RequestParam String category, @RequestParam(defaultValue = "en") String language,
+                                                                    @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respond("search-by-category", () -> newsAggregatorService.searchNewsByCategory(category, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
     }
 
     //endpoint to get categories
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getCategories(@RequestParam(defaultValue = "en") String language) {
+    public ResponseEntity<List<String>> getCategories(@RequestParam(defaultValue = "en") String language,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         List<String> categories = newsAggregatorService.getCategories(language);
-        return ResponseEntity.ok(categories);
+        return articlePages.respondValues("categories", categories, ifNoneMatch);
     }
 
     @GetMapping("/search-by-sentiment")
-    public ResponseEntity<List<ArticleDTO>> searchNewsBySentiment(@RequestParam String sentiment, @RequestParam(defaultValue = "en") String language) {
-        List<ArticleDTO> articles = newsAggregatorService.searchNewsBySentiment(sentiment, language);
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<MappingJacksonValue> searchNewsBySentiment(@RequestParam String sentiment, @RequestParam(defaultValue = "en") String language,
+                                                                     @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respond("search-by-sentiment", () -> newsAggregatorService.searchNewsBySentiment(sentiment, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
     }
     @GetMapping("/search-combined")
-    public ResponseEntity<List<ArticleDTO>> searchCombined(
+    public ResponseEntity<MappingJacksonValue> searchCombined(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String sentiment,
+            @RequestParam(required = false, defaultValue = "en") String language,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return articlePages.respond("search-combined", () -> newsAggregatorService.searchCombined(query, source, category, sentiment, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //streams combined search results as each provider answers, NDJSON or server-sent events depending on the Accept header
+    @GetMapping(value = "/search-combined/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MappingJacksonValue> streamCombined(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String source,
             @RequestParam(required = false) String sentiment,
-            @RequestParam(required = false, defaultValue = "en") String language) {
+            @RequestParam(required = false, defaultValue = "en") String language,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
 
-        List<ArticleDTO> results = newsAggregatorService.searchCombined(query, source, category, sentiment,language);
-        return ResponseEntity.ok(results);
+        ArticleFields projection = ArticleFields.parse(fields, view);
+        Flux<ArticleDTO> articles = newsAggregatorService.streamCombined(query, source, category, sentiment, language);
+        // arrival order, so the limit keeps the first stories to arrive rather than the newest
+        return (limit != null ? articles.take(Math.max(1, limit)) : articles).map(projection::wrap);
     }
 
 }
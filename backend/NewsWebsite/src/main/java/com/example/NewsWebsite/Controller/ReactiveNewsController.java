@@ -0,0 +1,121 @@
+package com.example.NewsWebsite.Controller;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Service.NewsAggregatorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+//same endpoints as NewsController, but no request thread waits for the providers
+@RestController
+@RequestMapping("/api/news")
+@CrossOrigin(origins = "*", exposedHeaders = {ArticlePages.MISSING_PROVIDERS_HEADER, ArticlePages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
+@ConditionalOnProperty(name = "news.execution.mode", havingValue = "reactive")
+public class ReactiveNewsController {
+
+    @Autowired
+    private NewsAggregatorService newsAggregatorService;
+
+    @Autowired
+    private ArticlePages articlePages;
+
+    //search by query endpoint
+    @GetMapping("/search")
+    public Mono<ResponseEntity<MappingJacksonValue>> searchNews(@RequestParam String query, @RequestParam(defaultValue = "en") String language,
+                                                                @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respondAsync("search", () -> newsAggregatorService.searchNewsAsync(query, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //endpoint to get sources from both APIs
+    @GetMapping("/sources")
+    public Mono<ResponseEntity<List<String>>> getSources(@RequestParam(defaultValue = "en") String language,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return newsAggregatorService.getSourcesAsync(language).map(values -> articlePages.respondValues("sources", values, ifNoneMatch));
+    }
+
+    //endpoint to get top headlines
+    @GetMapping("/top-headlines")
+    public Mono<ResponseEntity<MappingJacksonValue>> getTopHeadlines(@RequestParam(defaultValue = "en") String language,
+                                                                     @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respondAsync("top-headlines", () -> newsAggregatorService.getTopHeadlinesAsync(language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //endpoint to get news by source
+    @GetMapping("/search-by-source")
+    public Mono<ResponseEntity<MappingJacksonValue>> searchNewsBySource(@RequestParam String source, @RequestParam(defaultValue = "en") String language,
+                                                                        @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respondAsync("search-by-source", () -> newsAggregatorService.searchNewsBySourceAsync(source, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //endpoint to get news by category
+    @GetMapping("/search-by-category")
+    public Mono<ResponseEntity<MappingJacksonValue>> searchNewsByCategory(@RequestParam String category, @RequestParam(defaultValue = "en") String language,
+                                                                          @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respondAsync("search-by-category", () -> newsAggregatorService.searchNewsByCategoryAsync(category, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //endpoint to get categories
+    @GetMapping("/categories")
+    public Mono<ResponseEntity<List<String>>> getCategories(@RequestParam(defaultValue = "en") String language,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return newsAggregatorService.getCategoriesAsync(language).map(values -> articlePages.respondValues("categories", values, ifNoneMatch));
+    }
+
+    @GetMapping("/search-by-sentiment")
+    public Mono<ResponseEntity<MappingJacksonValue>> searchNewsBySentiment(@RequestParam String sentiment, @RequestParam(defaultValue = "en") String language,
+                                                                           @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) String fields, @RequestParam(required = false) String view,
+                                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return articlePages.respondAsync("search-by-sentiment", () -> newsAggregatorService.searchNewsBySentimentAsync(sentiment, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    @GetMapping("/search-combined")
+    public Mono<ResponseEntity<MappingJacksonValue>> searchCombined(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String sentiment,
+            @RequestParam(required = false, defaultValue = "en") String language,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return articlePages.respondAsync("search-combined", () -> newsAggregatorService.searchCombinedAsync(query, source, category, sentiment, language), limit, cursor, ArticleFields.parse(fields, view), ifNoneMatch);
+    }
+
+    //streams combined search results as each provider answers, NDJSON or server-sent events depending on the Accept header
+    @GetMapping(value = "/search-combined/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MappingJacksonValue> streamCombined(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String sentiment,
+            @RequestParam(required = false, defaultValue = "en") String language,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view) {
+
+        ArticleFields projection = ArticleFields.parse(fields, view);
+        Flux<ArticleDTO> articles = newsAggregatorService.streamCombined(query, source, category, sentiment, language);
+        // arrival order, so the limit keeps the first stories to arrive rather than the newest
+        return (limit != null ? articles.take(Math.max(1, limit)) : articles).map(projection::wrap);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.NewsWebsite.Dedup;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+//groups articles that are the same story, the first copy of each group is kept and the other outlets are listed on it
+public final class DuplicateCollapser {
+
+    private static final int NO_GROUP = -1;
+
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+
+    private final List<ArticleDTO> representatives = new ArrayList<>();
+    private final List<List<String>> reporters = new ArrayList<>();
+    private long[] fingerprints = new long[16];
+
+    //exact keys (canonical url, title and source) to group
+    private final LongIntHashMap exactKeys = new LongIntHashMap(64);
+
+    //band key to the first entry of a chain, each entry points at a group and at the next entry of the chain
+    private final LongIntHashMap bandHeads = new LongIntHashMap(64);
+    private int[] entryGroup = new int[64];
+    private int[] entryNext = new int[64];
+    private int entries;
+
+    //fingerprints within maxDistance bits share at least one of maxDistance + 1 bands, only those are compared
+    public DuplicateCollapser(int maxDistance) {
+        this.maxDistance = Math.max(0, Math.min(maxDistance, 63));
+        int bands = this.maxDistance + 1;
+        bandShifts = new int[bands];
+        bandMasks = new long[bands];
+        int width = 64 / bands;
+        for (int band = 0; band < bands; band++) {
+            int bits = band == bands - 1 ? 64 - width * band : width;
+            bandShifts[band] = width * band;
+            bandMasks[band] = bits == 64 ? -1L : (1L << bits) - 1;
+        }
+    }
+
+    //returns true when the article starts a new group, false when it was folded into one or skipped
+    public boolean add(ArticleDTO article) {
+        if (article.getTitle() == null) {
+            return false;
+        }
+        String url = UrlCanonicalizer.canonicalize(article.getUrl());
+        long urlKey = url == null ? 0L : SimHash.hash("u:" + url);
+        long titleKey = SimHash.hash("t:" + article.getTitle().trim().toLowerCase(Locale.ROOT) + "_"
+                + (article.getSourceName() != null ? article.getSourceName().trim().toLowerCase(Locale.ROOT) : ""));
+
+        int group = url == null ? NO_GROUP : exactKeys.get(urlKey, NO_GROUP);
+        if (group == NO_GROUP) {
+            group = exactKeys.get(titleKey, NO_GROUP);
+        }
+        long fingerprint = SimHash.fingerprint(article);
+        if (group == NO_GROUP && fingerprint != 0L) {
+            group = nearestGroup(fingerprint);
+        }
+
+        boolean started = group == NO_GROUP;
+        if (started) {
+            group = startGroup(article, fingerprint);
+        } else {
+            fold(group, article);
+        }
+        if (url != null) {
+            exactKeys.put(urlKey, group);
+        }
+        exactKeys.put(titleKey, group);
+        return started;
+    }
+
+    public List<ArticleDTO> result() {
+        List<ArticleDTO> result = new ArrayList<>(representatives.size());
+        for (int group = 0; group < representatives.size(); group++) {
+            result.add(withReporters(representatives.get(group), reporters.get(group)));
+        }
+        return result;
+    }
+
+    public int size() {
+        return representatives.size();
+    }
+
+    private int nearestGroup(long fingerprint) {
+        for (int band = 0; band < bandShifts.length; band++) {
+            for (int entry = bandHeads.get(bandKey(band, fingerprint), NO_GROUP); entry != NO_GROUP; entry = entryNext[entry]) {
+                int candidate = entryGroup[entry];
+                if (SimHash.distance(fingerprints[candidate], fingerprint) <= maxDistance) {
+                    return candidate;
+                }
+            }
+        }
+        return NO_GROUP;
+    }
+
+    private int startGroup(ArticleDTO article, long fingerprint) {
+        int group = representatives.size();
+        representatives.add(article);
+        reporters.add(null);
+        if (group == fingerprints.length) {
+            fingerprints = Arrays.copyOf(fingerprints, group * 2);
+        }
+        fingerprints[group] = fingerprint;
+
+        if (fingerprint != 0L) {
+            for (int band = 0; band < bandShifts.length; band++) {
+                long key = bandKey(band, fingerprint);
+                if (entries == entryGroup.length) {
+                    entryGroup = Arrays.copyOf(entryGroup, entries * 2);
+                    entryNext = Arrays.copyOf(entryNext, entries * 2);
+                }
+                entryGroup[entries] = group;
+                entryNext[entries] = bandHeads.get(key, NO_GROUP);
+                bandHeads.put(key, entries);
+                entries++;
+            }
+        }
+        return group;
+    }
+
+    private void fold(int group, ArticleDTO duplicate) {
+        String source = duplicate.getSourceName();
+        if (source == null || source.isBlank() || source.equalsIgnoreCase(representatives.get(group).getSourceName())) {
+            return;
+        }
+        List<String> outlets = reporters.get(group);
+        if (outlets == null) {
+            outlets = new ArrayList<>(2);
+            reporters.set(group, outlets);
+        }
+        for (String outlet : outlets) {
+            if (outlet.equalsIgnoreCase(source)) {
+                return;
+            }
+        }
+        outlets.add(source);
+    }
+
+    private long bandKey(int band, long fingerprint) {
+        long value = (fingerprint >>> bandShifts[band]) & bandMasks[band];
+        return value ^ ((band + 1) * 0x9e3779b97f4a7c15L);
+    }
+
+    //articles can be shared with the provider cache, so the representative is copied instead of modified
+    private static ArticleDTO withReporters(ArticleDTO article, List<String> outlets) {
+        if (outlets == null) {
+            return article;
+        }
+        ArticleDTO copy = new ArticleDTO(article.getTitle(), article.getDescription(), article.getContent(), article.getUrl(),
+                article.getImageUrl(), article.getSourceName(), article.getPublishedAt(), article.getLanguage(),
+                article.getSentiment(), article.getCategory());
+        copy.setAlsoReportedBy(List.copyOf(outlets));
+        return copy;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.NewsWebsite.Dedup;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Search.Tokenizer;
+
+import java.util.Set;
+
+//64-bit fingerprints where similar texts differ in only a few bits
+public final class SimHash {
+
+    //fewer features than this and the fingerprint is too noisy to compare
+    static final int MIN_FEATURES = 3;
+
+    private SimHash() {
+    }
+
+    //title terms count twice, syndicated copies mostly keep the headline and reword the teaser
+    public static long fingerprint(ArticleDTO article) {
+        int[] weights = new int[64];
+        int features = accumulate(weights, Tokenizer.terms(article.getTitle(), article.getLanguage()), 2)
+                + accumulate(weights, Tokenizer.terms(article.getDescription(), article.getLanguage()), 1);
+        if (features < MIN_FEATURES) {
+            return 0L;
+        }
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    //64-bit FNV-1a followed by a finalizer so that similar strings spread over all bits
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int accumulate(int[] weights, Set<String> terms, int weight) {
+        for (String term : terms) {
+            long hash = hash(term);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+            }
+        }
+        return terms.size();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.NewsWebsite.Mapper;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Model.SourceDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//maps provider responses token by token into articles without building a String or a JSON tree first
+@Component
+public class ArticleJsonMapper {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleJsonMapper.class);
+
+    private final JsonFactory jsonFactory;
+
+    public ArticleJsonMapper() {
+        this(new JsonFactory());
+    }
+
+    public ArticleJsonMapper(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    //reads the response body and releases the buffer once done
+    public List<ArticleDTO> readArticles(DataBuffer body, ArticleMapping mapping, String language, String category) {
+        try (InputStream in = body.asInputStream(true)) {
+            return readArticles(in, mapping, language, category);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //language and category are not part of the article payload so they come from the request
+    public List<ArticleDTO> readArticles(InputStream in, ArticleMapping mapping, String language, String category) throws IOException {
+        List<ArticleDTO> articles = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.warn("{} response is not a JSON object", mapping.getProviderName());
+                return articles;
+            }
+
+            boolean hasArticles = false;
+            String message = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("articles".equals(field) && value == JsonToken.START_ARRAY) {
+                    hasArticles = true;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        articles.add(readArticle(parser, mapping, language, category));
+                    }
+                } else if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                    message = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!hasArticles) {
+                log.warn("{} response missing 'articles' field: {}", mapping.getProviderName(), message);
+            }
+        }
+        return articles;
+    }
+
+    //reads the NewsAPI sources catalog
+    public List<SourceDTO> readSources(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return readSources(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<SourceDTO> readSources(InputStream in) throws IOException {
+        List<SourceDTO> sources = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.warn("NewsAPI sources response is not a JSON object");
+                return sources;
+            }
+
+            boolean hasSources = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("sources".equals(field) && value == JsonToken.START_ARRAY) {
+                    hasSources = true;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        sources.add(readSource(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!hasSources) {
+                log.warn("NewsAPI response missing 'sources' field");
+            }
+        }
+        return sources;
+    }
+
+    private ArticleDTO readArticle(JsonParser parser, ArticleMapping mapping, String language, String category) throws IOException {
+        ArticleDTO article = new ArticleDTO();
+        article.setTitle("");
+        article.setDescription("");
+        article.setContent("");
+        article.setUrl("");
+        article.setImageUrl("");
+        article.setSourceName("Unknown");
+        article.setLanguage(language);
+        article.setCategory(category);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> article.setTitle(readText(parser));
+                case "description" -> article.setDescription(readText(parser));
+                case "content" -> article.setContent(readText(parser));
+                case "url" -> article.setUrl(readText(parser));
+                case "publishedAt" -> article.setPublishedAt(parseDate(readText(parser)));
+                case "source" -> article.setSourceName(readSourceName(parser));
+                default -> {
+                    if (field.equals(mapping.getImageField())) {
+                        article.setImageUrl(readText(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return article;
+    }
+
+    private String readSourceName(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return "Unknown";
+        }
+        String name = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = readText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+
+    private SourceDTO readSource(JsonParser parser) throws IOException {
+        SourceDTO source = new SourceDTO("", "", "", "");
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> source.setId(readText(parser));
+                case "name" -> source.setName(readText(parser));
+                case "category" -> source.setCategory(readText(parser));
+                case "language" -> source.setLanguage(readText(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return source;
+    }
+
+    //nulls and nested values read as an empty string, like optString did
+    private static String readText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return "";
+        }
+        return token == JsonToken.VALUE_NULL ? "" : parser.getValueAsString("");
+    }
+
+    //parse date from string
+    public static LocalDateTime parseDate(String dateString) {
+        try {
+            return OffsetDateTime.parse(dateString).toLocalDateTime();
+        } catch (Exception e) {
+            log.warn("Date parse failed: {}", dateString);
+            return null;
+        }
+    }
+}
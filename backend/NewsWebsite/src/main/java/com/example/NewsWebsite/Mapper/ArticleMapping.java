@@ -0,0 +1,24 @@
+package com.example.NewsWebsite.Mapper;
+
+//the field names each provider uses for an article, everything else is shared
+public enum ArticleMapping {
+
+    NEWS_API("NewsAPI", "urlToImage"),
+    GNEWS("GNews", "image");
+
+    private final String providerName;
+    private final String imageField;
+
+    ArticleMapping(String providerName, String imageField) {
+        this.providerName = providerName;
+        this.imageField = imageField;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public String getImageField() {
+        return imageField;
+    }
+}
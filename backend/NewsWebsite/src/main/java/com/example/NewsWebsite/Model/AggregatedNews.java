@@ -0,0 +1,17 @@
+package com.example.NewsWebsite.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//merged articles together with the providers that failed or missed their deadline
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregatedNews {
+    private List<ArticleDTO> articles = new ArrayList<>();
+    private List<String> missingProviders = new ArrayList<>();
+}
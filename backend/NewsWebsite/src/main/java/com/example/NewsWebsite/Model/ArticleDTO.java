@@ -1,12 +1,22 @@
 package com.example.NewsWebsite.Model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 
+//the filter lets a response leave out properties the client did not ask for
 @Data
 @NoArgsConstructor
+@JsonFilter("articleFields")
 public class ArticleDTO {
+     //order of merged and searched results, articles without a date go last
+     public static final Comparator<ArticleDTO> NEWEST_FIRST = Comparator.comparing(
+             (ArticleDTO article) -> article.getPublishedAt() != null ? article.getPublishedAt() : LocalDateTime.MIN).reversed();
+
      private String title;
      private String description;
      private String content;
@@ -17,6 +27,9 @@ public class ArticleDTO {
      private String language;
      private String sentiment;
      private String Category;
+     //other outlets that carried the same story, filled in when near-duplicates are collapsed
+     @JsonInclude(JsonInclude.Include.NON_EMPTY)
+     private List<String> alsoReportedBy;
 
      
      public ArticleDTO(String title, String description, String content, String url, String urlToImage, String sourceName, LocalDateTime publishedAt, String language, String sentiment, String Category) {
@@ -112,6 +125,14 @@ public class ArticleDTO {
             this.Category = category;
         }
 
+     public List<String> getAlsoReportedBy() {
+          return alsoReportedBy;
+     }
+
+     public void setAlsoReportedBy(List<String> alsoReportedBy) {
+          this.alsoReportedBy = alsoReportedBy;
+     }
+
 
 
 }
@@ -0,0 +1,64 @@
+package com.example.NewsWebsite.Model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+//stored copy of an article, the id is derived from the article url so repeated fetches overwrite it
+@Data
+@NoArgsConstructor
+@Document(collection = "articles")
+@CompoundIndexes({
+        @CompoundIndex(name = "language_category_published", def = "{'language': 1, 'category': 1, 'publishedAt': -1}"),
+        @CompoundIndex(name = "language_source_published", def = "{'language': 1, 'sourceKey': 1, 'publishedAt': -1}"),
+        @CompoundIndex(name = "language_sentiment_published", def = "{'language': 1, 'sentiment': 1, 'publishedAt': -1}")
+})
+public class ArticleDocument {
+    @Id
+    private String id;
+    private String title;
+    private String description;
+    private String content;
+    private String url;
+    private String imageUrl;
+    private String sourceName;
+    //lower-cased source name used for lookups
+    private String sourceKey;
+    private LocalDateTime publishedAt;
+    private String language;
+    private String sentiment;
+    private String category;
+    private LocalDateTime fetchedAt;
+
+    public static ArticleDocument from(String id, ArticleDTO article, LocalDateTime fetchedAt) {
+        ArticleDocument document = new ArticleDocument();
+        document.setId(id);
+        document.setTitle(article.getTitle());
+        document.setDescription(article.getDescription());
+        document.setContent(article.getContent());
+        document.setUrl(article.getUrl());
+        document.setImageUrl(article.getImageUrl());
+        document.setSourceName(article.getSourceName());
+        document.setSourceKey(keyOf(article.getSourceName()));
+        document.setPublishedAt(article.getPublishedAt());
+        document.setLanguage(article.getLanguage());
+        document.setSentiment(keyOf(article.getSentiment()));
+        document.setCategory(keyOf(article.getCategory()));
+        document.setFetchedAt(fetchedAt);
+        return document;
+    }
+
+    public static String keyOf(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public ArticleDTO toArticle() {
+        return new ArticleDTO(title, description, content, url, imageUrl, sourceName, publishedAt, language, sentiment, category);
+    }
+}
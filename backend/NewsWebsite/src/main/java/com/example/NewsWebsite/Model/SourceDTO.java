@@ -0,0 +1,16 @@
+package com.example.NewsWebsite.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//an entry of the NewsAPI sources catalog
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourceDTO {
+    private String id;
+    private String name;
+    private String category;
+    private String language;
+}
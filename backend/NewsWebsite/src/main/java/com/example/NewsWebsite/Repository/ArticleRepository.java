@@ -0,0 +1,17 @@
+package com.example.NewsWebsite.Repository;
+
+import com.example.NewsWebsite.Model.ArticleDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArticleRepository extends MongoRepository<ArticleDocument, String> {
+
+    List<ArticleDocument> findByLanguageAndCategoryAndFetchedAtAfterOrderByPublishedAtDesc(String language, String category, LocalDateTime fetchedAfter, Pageable pageable);
+
+    List<ArticleDocument> findByLanguageAndSourceKeyAndFetchedAtAfterOrderByPublishedAtDesc(String language, String sourceKey, LocalDateTime fetchedAfter, Pageable pageable);
+
+    List<ArticleDocument> findByLanguageAndSentimentAndFetchedAtAfterOrderByPublishedAtDesc(String language, String sentiment, LocalDateTime fetchedAfter, Pageable pageable);
+}
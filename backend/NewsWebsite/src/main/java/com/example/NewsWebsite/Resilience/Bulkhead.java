@@ -0,0 +1,41 @@
+package com.example.NewsWebsite.Resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+//caps the calls in flight to one provider, calls over the cap are rejected instead of queued
+public final class Bulkhead {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.NewsWebsite.Resilience;
+
+import java.util.Arrays;
+
+//latencies of the most recent successful calls, used to decide when a hedged attempt is worth sending
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    //-1 until at least minSamples calls have been recorded
+    public synchronized long percentile(double percentile, int minSamples) {
+        if (count == 0 || count < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.NewsWebsite.Resilience;
+
+import com.example.NewsWebsite.Service.RequestPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//wraps every upstream provider call with a circuit breaker per provider and endpoint, a bulkhead per provider,
+//the provider's quota and, when enabled, a hedged second attempt once the call is slower than the usual latency percentile
+@Component
+public class ProviderResilience {
+
+    private final Environment environment;
+    private final QuotaManager quotaManager;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> hedgesSent = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> hedgesWon = new ConcurrentHashMap<>();
+
+    @Value("${news.resilience.breaker.window:20}")
+    private int breakerWindow;
+
+    @Value("${news.resilience.breaker.min-calls:10}")
+    private int breakerMinCalls;
+
+    @Value("${news.resilience.breaker.failure-rate:50}")
+    private double breakerFailureRate;
+
+    @Value("${news.resilience.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    @Value("${news.resilience.breaker.half-open-calls:3}")
+    private int breakerHalfOpenCalls;
+
+    //successful calls slower than this count as failures for the breaker
+    @Value("${news.resilience.slow-call-ms:5000}")
+    private long slowCallMs;
+
+    @Value("${news.resilience.bulkhead.max-concurrent:20}")
+    private int defaultMaxConcurrent;
+
+    @Value("${news.resilience.hedge.enabled:false}")
+    private boolean hedging;
+
+    @Value("${news.resilience.hedge.percentile:95}")
+    private double hedgePercentile;
+
+    @Value("${news.resilience.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    public ProviderResilience(Environment environment, QuotaManager quotaManager, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.quotaManager = quotaManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> call(String provider, String endpoint, Supplier<Mono<T>> upstream) {
+        RequestPriority priority = RequestPriority.current();
+        return Mono.defer(() -> {
+            String key = provider + "/" + endpoint;
+            CircuitBreaker breaker = breakers.computeIfAbsent(key, k -> newBreaker(provider, endpoint));
+            if (!breaker.tryAcquirePermission()) {
+                return rejected(provider, endpoint, "circuit open");
+            }
+            Bulkhead bulkhead = bulkheads.computeIfAbsent(provider, this::newBulkhead);
+            if (!bulkhead.tryAcquire()) {
+                breaker.releasePermission();
+                return rejected(provider, endpoint, "too many concurrent calls");
+            }
+            long quotaWaitMs = quotaManager.acquire(provider, endpoint, priority);
+            if (quotaWaitMs < 0) {
+                breaker.releasePermission();
+                bulkhead.release();
+                return rejected(provider, endpoint, "over quota");
+            }
+
+            LatencyTracker latency = latencies.computeIfAbsent(key, k -> new LatencyTracker(200));
+            // timed from the moment the request goes out, a wait for quota is not provider latency
+            Mono<T> call = Mono.defer(() -> {
+                long startNanos = System.nanoTime();
+                return attempt(provider, endpoint, upstream, latency)
+                        .doOnSuccess(value -> {
+                            long elapsedNanos = System.nanoTime() - startNanos;
+                            latency.record(elapsedNanos / 1_000_000);
+                            boolean slow = elapsedNanos / 1_000_000 > slowCallMs;
+                            if (slow) {
+                                breaker.onFailure();
+                            } else {
+                                breaker.onSuccess();
+                            }
+                            record(provider, endpoint, slow ? "slow" : "success", elapsedNanos);
+                        })
+                        .doOnError(e -> {
+                            if (isProviderFault(e)) {
+                                breaker.onFailure();
+                            } else {
+                                breaker.releasePermission();
+                            }
+                            String outcome = "error";
+                            if (e instanceof WebClientResponseException response && response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                                quotaManager.onThrottled(provider, retryAfterMs(response));
+                                outcome = "throttled";
+                            }
+                            record(provider, endpoint, outcome, System.nanoTime() - startNanos);
+                        })
+                        .doOnCancel(() -> record(provider, endpoint, "cancelled", System.nanoTime() - startNanos));
+            });
+            if (quotaWaitMs > 0) {
+                call = Mono.delay(Duration.ofMillis(quotaWaitMs)).then(call);
+            }
+            return call
+                    .doOnCancel(breaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private <T> Mono<T> rejected(String provider, String endpoint, String reason) {
+        Counter.builder("news.provider.rejections")
+                .description("Provider calls that were not sent")
+                .tags("provider", provider, "endpoint", endpoint, "reason", reason.replace(' ', '_'))
+                .register(meterRegistry)
+                .increment();
+        return Mono.error(new ProviderUnavailableException(provider, endpoint, reason));
+    }
+
+    private void record(String provider, String endpoint, String outcome, long elapsedNanos) {
+        Timer.builder("news.provider.requests")
+                .description("Upstream provider calls")
+                .tags("provider", provider, "endpoint", endpoint, "outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    //the breaker and its hedge counters are exported as gauges and counters the first time an endpoint is called
+    private CircuitBreaker newBreaker(String provider, String endpoint) {
+        CircuitBreaker breaker = new CircuitBreaker(breakerWindow, breakerMinCalls, breakerFailureRate, breakerOpenMs, breakerHalfOpenCalls);
+        String key = provider + "/" + endpoint;
+        Gauge.builder("news.provider.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("0 closed, 1 open, 2 half open")
+                .tags("provider", provider, "endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("news.provider.breaker.failure.rate", breaker, CircuitBreaker::failureRate)
+                .description("Failed calls in the breaker window, percent")
+                .tags("provider", provider, "endpoint", endpoint)
+                .register(meterRegistry);
+        FunctionCounter.builder("news.provider.hedges", hedgesSent.computeIfAbsent(key, k -> new AtomicLong()), AtomicLong::get)
+                .tags("provider", provider, "endpoint", endpoint, "result", "sent")
+                .register(meterRegistry);
+        FunctionCounter.builder("news.provider.hedges", hedgesWon.computeIfAbsent(key, k -> new AtomicLong()), AtomicLong::get)
+                .tags("provider", provider, "endpoint", endpoint, "result", "won")
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    //the hedge fires only after the primary has taken longer than the tracked percentile, whichever answers first wins
+    private <T> Mono<T> attempt(String provider, String endpoint, Supplier<Mono<T>> upstream, LatencyTracker latency) {
+        long hedgeAfterMs = hedging ? latency.percentile(hedgePercentile, hedgeMinSamples) : -1;
+        if (hedgeAfterMs < 0) {
+            return Mono.defer(upstream);
+        }
+        String key = provider + "/" + endpoint;
+        Mono<T> hedge = Mono.delay(Duration.ofMillis(hedgeAfterMs))
+                .then(Mono.defer(() -> {
+                    if (!quotaManager.tryAcquireNow(provider, endpoint)) {
+                        return Mono.<T>empty();
+                    }
+                    hedgesSent.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+                    return upstream.get();
+                }))
+                .doOnNext(value -> hedgesWon.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet());
+        return Mono.firstWithValue(Mono.defer(upstream), hedge);
+    }
+
+    //only trouble on the provider's side counts against its breaker: 5xx answers, timeouts and connection errors,
+    //a 4xx (429 included) is about this request and says nothing about the provider's health
+    static boolean isProviderFault(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException || e instanceof IOException;
+    }
+
+    //Retry-After in seconds, 0 when the provider did not send one
+    private static long retryAfterMs(WebClientResponseException response) {
+        String retryAfter = response.getHeaders().getFirst("Retry-After");
+        try {
+            return retryAfter == null ? 0 : Long.parseLong(retryAfter.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private Bulkhead newBulkhead(String provider) {
+        Bulkhead bulkhead = new Bulkhead(environment.getProperty("news.resilience.bulkhead." + provider + ".max-concurrent", Integer.class, defaultMaxConcurrent));
+        Gauge.builder("news.provider.bulkhead.active", bulkhead, Bulkhead::getActiveCalls)
+                .description("Provider calls in flight")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    //breaker state per provider and endpoint, bulkhead usage per provider, hedge win rates and quota usage
+    public Map<String, Object> snapshot() {
+        Map<String, Object> breakerStats = new TreeMap<>();
+        breakers.forEach((key, breaker) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("state", breaker.getState().name());
+            stats.put("failureRate", breaker.failureRate());
+            stats.put("rejectedCalls", breaker.getRejectedCalls());
+            stats.put("timesOpened", breaker.getTimesOpened());
+            LatencyTracker latency = latencies.get(key);
+            if (latency != null) {
+                stats.put("p95Ms", latency.percentile(95, 1));
+            }
+            long sent = hedgesSent.getOrDefault(key, new AtomicLong()).get();
+            long won = hedgesWon.getOrDefault(key, new AtomicLong()).get();
+            stats.put("hedgesSent", sent);
+            stats.put("hedgesWon", won);
+            stats.put("hedgeWinRate", sent == 0 ? 0.0 : won * 1.0 / sent);
+            breakerStats.put(key, stats);
+        });
+
+        Map<String, Object> bulkheadStats = new TreeMap<>();
+        bulkheads.forEach((provider, bulkhead) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("activeCalls", bulkhead.getActiveCalls());
+            stats.put("maxConcurrent", bulkhead.getMaxConcurrent());
+            stats.put("rejectedCalls", bulkhead.getRejectedCalls());
+            bulkheadStats.put(provider, stats);
+        });
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("breakers", breakerStats);
+        snapshot.put("bulkheads", bulkheadStats);
+        snapshot.put("quotas", quotaManager.snapshot());
+        return snapshot;
+    }
+}
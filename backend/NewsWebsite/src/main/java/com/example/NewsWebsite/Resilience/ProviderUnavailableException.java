@@ -0,0 +1,9 @@
+package com.example.NewsWebsite.Resilience;
+
+//a provider call was not attempted because its circuit is open or its bulkhead is full
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String provider, String endpoint, String reason) {
+        super(provider + " " + endpoint + " unavailable: " + reason);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.NewsWebsite.Resilience;
+
+import com.example.NewsWebsite.Service.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+//spends the plan quota of each provider key: a per-second token bucket plus a daily budget, with the last part of
+//the daily budget kept for interactive requests so ingestion and refreshes are shed first
+@Component
+public class QuotaManager {
+
+    private static final Logger log = LoggerFactory.getLogger(QuotaManager.class);
+
+    private final Environment environment;
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+
+    @Value("${news.quota.reserve-percent:20}")
+    private double reservePercent;
+
+    @Value("${news.quota.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    @Value("${news.quota.throttle-pause-ms:60000}")
+    private long throttlePauseMs;
+
+    @Value("${news.quota.reset-zone:UTC}")
+    private String resetZone;
+
+    public QuotaManager(Environment environment) {
+        this.environment = environment;
+    }
+
+    //milliseconds to wait before the call may go out, -1 when it must not be sent at all
+    public long acquire(String provider, String endpoint, RequestPriority priority) {
+        return quotaFor(provider).acquire(costOf(provider, endpoint), priority, priority == RequestPriority.INTERACTIVE ? maxWaitMs : 0);
+    }
+
+    //hedged attempts are optional extra traffic: they never wait and never touch the interactive reserve
+    public boolean tryAcquireNow(String provider, String endpoint) {
+        return quotaFor(provider).acquire(costOf(provider, endpoint), RequestPriority.BACKGROUND, 0) == 0;
+    }
+
+    //the provider answered 429, stop calling it for Retry-After or the configured pause
+    public void onThrottled(String provider, long retryAfterMs) {
+        long pauseMs = retryAfterMs > 0 ? retryAfterMs : throttlePauseMs;
+        quotaFor(provider).pause(pauseMs);
+        log.warn("{} is rate limiting this key, pausing calls for {} ms", provider, pauseMs);
+    }
+
+    private double costOf(String provider, String endpoint) {
+        return environment.getProperty("news.quota." + provider + ".cost." + endpoint, Double.class, 1.0);
+    }
+
+    private Quota quotaFor(String provider) {
+        return quotas.computeIfAbsent(provider, p -> {
+            double perSecond = environment.getProperty("news.quota." + p + ".per-second", Double.class, 0.0);
+            double burst = environment.getProperty("news.quota." + p + ".burst", Double.class, Math.max(1, perSecond));
+            long dailyLimit = environment.getProperty("news.quota." + p + ".daily-limit", Long.class, 0L);
+            return new Quota(perSecond > 0 ? new TokenBucket(perSecond, burst) : null, dailyLimit);
+        });
+    }
+
+    //remaining daily budget and shed counts per provider
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        quotas.forEach((provider, quota) -> snapshot.put(provider, quota.snapshot()));
+        return snapshot;
+    }
+
+    private final class Quota {
+        private final TokenBucket bucket;
+        private final long dailyLimit;
+
+        private LocalDate day;
+        private double usedToday;
+        private long pausedUntil;
+
+        private long granted;
+        private long delayed;
+        private long shedInteractive;
+        private long shedBackground;
+
+        private Quota(TokenBucket bucket, long dailyLimit) {
+            this.bucket = bucket;
+            this.dailyLimit = dailyLimit;
+        }
+
+        private synchronized long acquire(double cost, RequestPriority priority, long maxWait) {
+            rollDay();
+            if (System.currentTimeMillis() < pausedUntil || !withinDailyBudget(cost, priority)) {
+                return shed(priority);
+            }
+            long waitMs = bucket == null ? 0 : bucket.reserve(cost, maxWait);
+            if (waitMs < 0) {
+                return shed(priority);
+            }
+            usedToday += cost;
+            granted++;
+            if (waitMs > 0) {
+                delayed++;
+            }
+            return waitMs;
+        }
+
+        private boolean withinDailyBudget(double cost, RequestPriority priority) {
+            if (dailyLimit <= 0) {
+                return true;
+            }
+            double remainingAfter = dailyLimit - usedToday - cost;
+            double floor = priority == RequestPriority.INTERACTIVE ? 0 : dailyLimit * reservePercent / 100.0;
+            return remainingAfter >= floor;
+        }
+
+        private long shed(RequestPriority priority) {
+            if (priority == RequestPriority.INTERACTIVE) {
+                shedInteractive++;
+            } else {
+                shedBackground++;
+            }
+            return -1;
+        }
+
+        private synchronized void pause(long pauseMs) {
+            pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + pauseMs);
+        }
+
+        private void rollDay() {
+            LocalDate today = LocalDate.now(ZoneId.of(resetZone));
+            if (!today.equals(day)) {
+                day = today;
+                usedToday = 0;
+            }
+        }
+
+        private synchronized Map<String, Object> snapshot() {
+            rollDay();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("dailyLimit", dailyLimit);
+            stats.put("usedToday", usedToday);
+            if (bucket != null) {
+                stats.put("tokensAvailable", Math.max(0, bucket.available()));
+            }
+            stats.put("pausedForMs", Math.max(0, pausedUntil - System.currentTimeMillis()));
+            stats.put("granted", granted);
+            stats.put("delayed", delayed);
+            stats.put("shedInteractive", shedInteractive);
+            stats.put("shedBackground", shedBackground);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.NewsWebsite.Resilience;
+
+import java.util.function.LongSupplier;
+
+//per-second rate limit of a provider key, a caller may borrow against tokens that will arrive within its wait budget
+public final class TokenBucket {
+
+    private final double tokensPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double tokensPerSecond, double capacity) {
+        this(tokensPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double tokensPerSecond, double capacity, LongSupplier nanoClock) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.capacity = Math.max(1, capacity);
+        this.nanoClock = nanoClock;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    //milliseconds the caller has to wait before its call may go out, -1 when that would exceed maxWaitMs
+    public synchronized long reserve(double cost, long maxWaitMs) {
+        refill();
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        long waitMs = (long) Math.ceil((cost - tokens) / tokensPerSecond * 1000);
+        if (waitMs > maxWaitMs) {
+            return -1;
+        }
+        tokens -= cost;
+        return waitMs;
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * tokensPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.NewsWebsite.Search;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//in-process inverted index over the title, description and content of every fetched article
+@Component
+public class ArticleIndex {
+
+    private final int maxDocuments;
+    private final long maxAgeMillis;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final Map<Integer, IndexedArticle> documents = new HashMap<>();
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final Deque<Integer> insertionOrder = new ArrayDeque<>();
+    private int nextId;
+
+    public ArticleIndex(@Value("${news.index.max-documents:50000}") int maxDocuments,
+                        @Value("${news.index.max-age-ms:86400000}") long maxAgeMillis) {
+        this.maxDocuments = maxDocuments;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    //re-adding an article that is already indexed replaces it and resets its age
+    public void addAll(List<ArticleDTO> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            for (ArticleDTO article : articles) {
+                add(article, now);
+            }
+            evict(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ArticleDTO article, long now) {
+        String key = keyOf(article);
+        if (key == null) {
+            return;
+        }
+        Integer previous = idsByKey.remove(key);
+        if (previous != null) {
+            remove(previous);
+        }
+
+        String language = languageOf(article.getLanguage());
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(Tokenizer.terms(article.getTitle(), language));
+        terms.addAll(Tokenizer.terms(article.getDescription(), language));
+        terms.addAll(Tokenizer.terms(article.getContent(), language));
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        int id = nextId++;
+        String[] postingKeys = new String[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            postingKeys[i] = language + ":" + term;
+            postings.computeIfAbsent(postingKeys[i], k -> new PostingsList()).add(id);
+            i++;
+        }
+        documents.put(id, new IndexedArticle(article, key, postingKeys, now));
+        idsByKey.put(key, id);
+        insertionOrder.addLast(id);
+    }
+
+    private void remove(int id) {
+        IndexedArticle document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String postingKey : document.postingKeys) {
+            PostingsList list = postings.get(postingKey);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(postingKey);
+                }
+            }
+        }
+        idsByKey.remove(document.key, id);
+    }
+
+    //drops the oldest articles first, by age and then by capacity
+    private void evict(long now) {
+        while (!insertionOrder.isEmpty()) {
+            int oldest = insertionOrder.peekFirst();
+            IndexedArticle document = documents.get(oldest);
+            if (document == null) {
+                insertionOrder.pollFirst(); // already replaced by a newer copy
+            } else if (now - document.indexedAt > maxAgeMillis || documents.size() > maxDocuments) {
+                insertionOrder.pollFirst();
+                remove(oldest);
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${news.index.evict-interval-ms:60000}")
+    public void evictExpired() {
+        lock.writeLock().lock();
+        try {
+            evict(System.currentTimeMillis());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //articles of the language containing every term of the query, newest first
+    public List<ArticleDTO> search(String query, String language) {
+        String lang = languageOf(language);
+        Set<String> terms = Tokenizer.terms(query, lang);
+        List<ArticleDTO> results = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return results;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingsList> lists = new ArrayList<>();
+            for (String term : terms) {
+                PostingsList list = postings.get(lang + ":" + term);
+                if (list == null) {
+                    return results;
+                }
+                lists.add(list);
+            }
+            // start from the rarest term so the candidate set stays small
+            lists.sort(Comparator.comparingInt(PostingsList::size));
+            int[] matches = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && matches.length > 0; i++) {
+                matches = lists.get(i).intersect(matches);
+            }
+            for (int id : matches) {
+                results.add(documents.get(id).article);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(ArticleDTO.NEWEST_FIRST);
+        return results;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String keyOf(ArticleDTO article) {
+        if (article.getUrl() != null && !article.getUrl().isBlank()) {
+            return article.getUrl().trim().toLowerCase(Locale.ROOT);
+        }
+        if (article.getTitle() != null && !article.getTitle().isBlank()) {
+            return article.getTitle().trim().toLowerCase(Locale.ROOT) + "_"
+                    + (article.getSourceName() != null ? article.getSourceName().trim().toLowerCase(Locale.ROOT) : "");
+        }
+        return null;
+    }
+
+    private static String languageOf(String language) {
+        return language == null || language.isBlank() ? "en" : language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class IndexedArticle {
+        private final ArticleDTO article;
+        private final String key;
+        private final String[] postingKeys;
+        private final long indexedAt;
+
+        private IndexedArticle(ArticleDTO article, String key, String[] postingKeys, long indexedAt) {
+            this.article = article;
+            this.key = key;
+            this.postingKeys = postingKeys;
+            this.indexedAt = indexedAt;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.NewsWebsite.Search;
+
+import java.util.Arrays;
+
+//sorted document ids of one term kept in a plain int array
+final class PostingsList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    //ids are handed out in increasing order so appending keeps the list sorted
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        if (size > 8 && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    //keeps only the ids of candidates that are also in this list
+    int[] intersect(int[] candidates) {
+        int[] result = new int[Math.min(candidates.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] == ids[j]) {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            } else if (candidates[i] < ids[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.NewsWebsite.Search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+//splits article text into index terms, the rules depend on the article language
+public final class Tokenizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    //languages written without spaces are indexed as overlapping character pairs
+    private static final Set<String> BIGRAM_LANGUAGES = Set.of("zh", "ja");
+
+    //languages whose accents are folded away so "cafe" finds "café"
+    private static final Set<String> ACCENT_FOLDING_LANGUAGES = Set.of("en", "fr", "de", "es", "it", "pt", "nl", "no", "sv");
+
+    private static final Map<String, Set<String>> STOPWORDS = Map.of(
+            "en", Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "he", "in", "is", "it",
+                    "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with", "after", "over", "new"),
+            "fr", Set.of("le", "la", "les", "un", "une", "des", "du", "de", "et", "en", "est", "au", "aux", "pour", "par",
+                    "sur", "dans", "qui", "que", "pas", "plus", "avec", "ce", "se"),
+            "de", Set.of("der", "die", "das", "und", "ein", "eine", "ist", "im", "in", "den", "dem", "des", "mit", "von",
+                    "zu", "auf", "für", "fur", "nicht", "sich", "auch", "als", "bei", "nach"),
+            "es", Set.of("el", "la", "los", "las", "un", "una", "y", "de", "del", "en", "es", "por", "para", "con", "que",
+                    "se", "al", "su", "lo", "como", "mas"),
+            "it", Set.of("il", "lo", "la", "i", "gli", "le", "un", "una", "e", "di", "del", "della", "in", "che", "per",
+                    "con", "non", "si", "da", "al"),
+            "pt", Set.of("o", "a", "os", "as", "um", "uma", "e", "de", "do", "da", "dos", "das", "em", "no", "na", "que",
+                    "para", "com", "por", "se", "ao")
+    );
+
+    private Tokenizer() {
+    }
+
+    //distinct terms of the text in order of first appearance
+    public static Set<String> terms(String text, String language) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String lang = language == null ? "en" : language.toLowerCase(Locale.ROOT);
+        String normalized = text.toLowerCase(Locale.forLanguageTag(lang));
+        if (ACCENT_FOLDING_LANGUAGES.contains(lang)) {
+            normalized = COMBINING_MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+        }
+        Set<String> stopwords = STOPWORDS.getOrDefault(lang, Set.of());
+
+        for (String word : NON_WORD.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (BIGRAM_LANGUAGES.contains(lang)) {
+                terms.addAll(bigrams(word));
+            } else if (word.length() > 1 && !stopwords.contains(word)) {
+                terms.add(lang.equals("en") ? stemEnglish(word) : word);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> bigrams(String word) {
+        List<String> bigrams = new ArrayList<>();
+        if (word.length() == 1) {
+            bigrams.add(word);
+            return bigrams;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            bigrams.add(word.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    //folds plurals only, enough for "election" to find "elections"
+    private static String stemEnglish(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
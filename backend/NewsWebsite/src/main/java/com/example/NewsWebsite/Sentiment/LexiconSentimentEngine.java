@@ -0,0 +1,172 @@
+package com.example.NewsWebsite.Sentiment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+//in-process scorer: word scores from sentiment/lexicon.tsv, flipped after a negation, scaled by intensifiers,
+//damped before "but" and after "despite". Works offline and takes microseconds per article.
+@Component
+public class LexiconSentimentEngine implements SentimentEngine {
+
+    private static final Pattern CLAUSES = Pattern.compile("[.!?;:,]+");
+    private static final Pattern WORDS = Pattern.compile("[^a-z'\\-]+");
+
+    private static final Set<String> NEGATORS = Set.of("not", "no", "never", "nor", "none", "nobody", "nothing", "neither",
+            "without", "cannot", "hardly", "barely");
+    private static final Set<String> CONTRASTS = Set.of("but", "however", "yet", "although", "though");
+    private static final Set<String> CONCESSIONS = Set.of("despite", "notwithstanding");
+    private static final Map<String, Double> INTENSIFIERS = Map.of("very", 1.5, "extremely", 1.8, "highly", 1.5,
+            "deeply", 1.5, "really", 1.3, "most", 1.3, "so", 1.3, "slightly", 0.5, "somewhat", 0.6, "marginally", 0.5);
+
+    //how far a negation or concession reaches, in words
+    private static final int SCOPE = 3;
+    //"not good" is milder than "bad"
+    private static final double NEGATION = -0.75;
+    private static final double CONCESSION = 0.25;
+    private static final double BEFORE_CONTRAST = 0.5;
+
+    private final Map<String, Integer> lexicon;
+    private final String zeroLabel;
+
+    public LexiconSentimentEngine(@Value("${news.sentiment.lexicon.zero-label:neutral}") String zeroLabel) {
+        this.lexicon = load("/sentiment/lexicon.tsv");
+        this.zeroLabel = zeroLabel;
+    }
+
+    @Override
+    public String getName() {
+        return "lexicon";
+    }
+
+    @Override
+    public Mono<List<String>> classify(List<String> texts) {
+        return Mono.fromSupplier(() -> {
+            List<String> labels = new ArrayList<>(texts.size());
+            for (String text : texts) {
+                labels.add(classify(text));
+            }
+            return labels;
+        });
+    }
+
+    //blank texts are neutral like in the model server, texts without any scored word get news.sentiment.lexicon.zero-label
+    public String classify(String text) {
+        if (text == null || text.isBlank()) {
+            return "neutral";
+        }
+        double score = score(text);
+        return score > 0 ? "positive" : score < 0 ? "negative" : zeroLabel;
+    }
+
+    double score(String text) {
+        double total = 0;
+        for (String clause : CLAUSES.split(text.toLowerCase(Locale.ROOT))) {
+            int negated = 0;
+            int conceded = 0;
+            double intensity = 1.0;
+            for (String word : WORDS.split(clause)) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                if (NEGATORS.contains(word) || word.endsWith("n't")) {
+                    negated = SCOPE;
+                    continue;
+                }
+                if (CONTRASTS.contains(word)) {
+                    total *= BEFORE_CONTRAST;
+                    negated = 0;
+                    conceded = 0;
+                    continue;
+                }
+                if (CONCESSIONS.contains(word)) {
+                    conceded = SCOPE;
+                    continue;
+                }
+                Double intensifier = INTENSIFIERS.get(word);
+                if (intensifier != null) {
+                    intensity = intensifier;
+                    continue;
+                }
+                Integer value = lookup(word);
+                if (value != null) {
+                    double wordScore = value * intensity;
+                    if (negated > 0) {
+                        wordScore *= NEGATION;
+                    }
+                    if (conceded > 0) {
+                        wordScore *= CONCESSION;
+                    }
+                    total += wordScore;
+                    intensity = 1.0;
+                }
+                negated = Math.max(0, negated - 1);
+                conceded = Math.max(0, conceded - 1);
+            }
+        }
+        return total;
+    }
+
+    //exact word first, then the word without a possessive or a plural, past tense, -ly or -ing ending
+    private Integer lookup(String word) {
+        Integer value = lexicon.get(word);
+        if (value != null) {
+            return value;
+        }
+        if (word.endsWith("'s")) {
+            return lexicon.get(word.substring(0, word.length() - 2));
+        }
+        if (word.endsWith("ies")) {
+            value = lexicon.get(word.substring(0, word.length() - 3) + "y");
+        } else if (word.endsWith("es") || word.endsWith("ed")) {
+            value = lexicon.get(word.substring(0, word.length() - 2));
+            if (value == null) {
+                value = lexicon.get(word.substring(0, word.length() - 1));
+            }
+        } else if (word.endsWith("s")) {
+            value = lexicon.get(word.substring(0, word.length() - 1));
+        } else if (word.endsWith("ly")) {
+            value = lexicon.get(word.substring(0, word.length() - 2));
+        } else if (word.endsWith("ing") && word.length() > 5) {
+            value = lexicon.get(word.substring(0, word.length() - 3));
+            if (value == null) {
+                value = lexicon.get(word.substring(0, word.length() - 3) + "e");
+            }
+        }
+        return value;
+    }
+
+    private static Map<String, Integer> load(String resource) {
+        Map<String, Integer> lexicon = new HashMap<>();
+        try (InputStream in = LexiconSentimentEngine.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Sentiment lexicon " + resource + " not found");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] entry = line.split("\t");
+                lexicon.put(entry[0].trim(), Integer.parseInt(entry[1].trim()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Reading the sentiment lexicon failed", e);
+        }
+        return lexicon;
+    }
+}
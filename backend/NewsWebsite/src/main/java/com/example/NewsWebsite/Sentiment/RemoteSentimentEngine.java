@@ -0,0 +1,51 @@
+package com.example.NewsWebsite.Sentiment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+//the transformers model behind the Flask server in ml-model/sentiment-news, one /analyze-batch round trip per call
+@Component
+public class RemoteSentimentEngine implements SentimentEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteSentimentEngine.class);
+
+    private final WebClient webClient;
+
+    public RemoteSentimentEngine(@Value("${sentiment.api.url:http://localhost:5000}") String sentimentApiUrl, WebClient providerWebClient) {
+        this.webClient = providerWebClient.mutate()
+                .baseUrl(sentimentApiUrl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "remote";
+    }
+
+    //entries are null when the model server could not answer
+    @Override
+    public Mono<List<String>> classify(List<String> texts) {
+        return webClient.post()
+                .uri("/analyze-batch")
+                .bodyValue(Map.of("texts", texts))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, List<String>>>() {})
+                .map(response -> response.getOrDefault("sentiments", Collections.emptyList()))
+                .filter(sentiments -> sentiments.size() == texts.size())
+                .onErrorResume(e -> {
+                    log.warn("Sentiment batch of {} texts failed: {}", texts.size(), e.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(new ArrayList<>(Collections.nCopies(texts.size(), null)));
+    }
+}
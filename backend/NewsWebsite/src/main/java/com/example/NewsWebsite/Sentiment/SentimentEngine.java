@@ -0,0 +1,15 @@
+package com.example.NewsWebsite.Sentiment;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+//classifies texts as positive or negative; every engine is a bean and news.sentiment.engine picks the one in use
+public interface SentimentEngine {
+
+    //the value news.sentiment.engine and news.sentiment.fallback refer to it by
+    String getName();
+
+    //one label per text in the same order, null where the engine could not answer
+    Mono<List<String>> classify(List<String> texts);
+}
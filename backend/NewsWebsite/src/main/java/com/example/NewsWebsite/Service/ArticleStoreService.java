@@ -0,0 +1,197 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Model.ArticleDocument;
+import com.example.NewsWebsite.Repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+//persists every fetched article and answers category, source and sentiment reads locally while the data is fresh
+@Service
+public class ArticleStoreService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleStoreService.class);
+
+    private final ArticleRepository articleRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Executor writeExecutor;
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final int readLimit;
+    private final int minResults;
+
+    @Autowired
+    public ArticleStoreService(ArticleRepository articleRepository, MongoTemplate mongoTemplate,
+                               @Qualifier("providerExecutor") Executor writeExecutor,
+                               @Value("${news.store.enabled:false}") boolean enabled,
+                               @Value("${news.store.max-age-ms:900000}") long maxAgeMillis,
+                               @Value("${news.store.read-limit:100}") int readLimit,
+                               @Value("${news.store.min-results:5}") int minResults) {
+        this.articleRepository = articleRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.writeExecutor = writeExecutor;
+        this.enabled = enabled;
+        this.maxAgeMillis = maxAgeMillis;
+        this.readLimit = readLimit;
+        this.minResults = minResults;
+    }
+
+    //auto index creation is off by default in Spring Boot, so the compound indexes are created here
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            IndexOperations indexOperations = mongoTemplate.indexOps(ArticleDocument.class);
+            IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+            resolver.resolveIndexFor(ArticleDocument.class).forEach(indexOperations::createIndex);
+        } catch (Exception e) {
+            log.error("Creating article store indexes failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //writes happen off the request thread
+    public void saveAsync(List<ArticleDTO> articles) {
+        if (!enabled || articles.isEmpty()) {
+            return;
+        }
+        try {
+            writeExecutor.execute(() -> save(articles));
+        } catch (RejectedExecutionException e) {
+            log.warn("Article store write rejected: {}", e.getMessage());
+        }
+    }
+
+    //upserts by article identity, fields the new copy does not know (sentiment, category) keep their stored value
+    public void save(List<ArticleDTO> articles) {
+        if (!enabled || articles.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, ArticleDocument> documents = new LinkedHashMap<>();
+        for (ArticleDTO article : articles) {
+            String id = articleId(article);
+            if (id != null) {
+                documents.put(id, ArticleDocument.from(id, article, now));
+            }
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArticleDocument.class);
+            for (ArticleDocument document : documents.values()) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(document.getId())), toUpdate(document));
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            log.error("Saving {} articles to the store failed: {}", documents.size(), e.getMessage());
+        }
+    }
+
+    public Optional<List<ArticleDTO>> findFreshByCategory(String category, String language) {
+        return findFresh(() -> articleRepository.findByLanguageAndCategoryAndFetchedAtAfterOrderByPublishedAtDesc(
+                language, ArticleDocument.keyOf(category), freshnessCutoff(), PageRequest.of(0, readLimit)));
+    }
+
+    public Optional<List<ArticleDTO>> findFreshBySource(String sourceName, String language) {
+        return findFresh(() -> articleRepository.findByLanguageAndSourceKeyAndFetchedAtAfterOrderByPublishedAtDesc(
+                language, ArticleDocument.keyOf(sourceName), freshnessCutoff(), PageRequest.of(0, readLimit)));
+    }
+
+    public Optional<List<ArticleDTO>> findFreshBySentiment(String sentiment, String language) {
+        return findFresh(() -> articleRepository.findByLanguageAndSentimentAndFetchedAtAfterOrderByPublishedAtDesc(
+                language, ArticleDocument.keyOf(sentiment), freshnessCutoff(), PageRequest.of(0, readLimit)));
+    }
+
+    //empty when the store is off, unreachable or does not hold enough fresh articles to answer on its own
+    private Optional<List<ArticleDTO>> findFresh(Supplier<List<ArticleDocument>> query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<ArticleDocument> documents = query.get();
+            if (documents.size() < minResults) {
+                return Optional.empty();
+            }
+            return Optional.of(documents.stream().map(ArticleDocument::toArticle).toList());
+        } catch (Exception e) {
+            log.error("Reading from the article store failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private LocalDateTime freshnessCutoff() {
+        return LocalDateTime.now().minusNanos(maxAgeMillis * 1_000_000L);
+    }
+
+    private static Update toUpdate(ArticleDocument document) {
+        Update update = new Update()
+                .set("title", document.getTitle())
+                .set("description", document.getDescription())
+                .set("content", document.getContent())
+                .set("url", document.getUrl())
+                .set("imageUrl", document.getImageUrl())
+                .set("sourceName", document.getSourceName())
+                .set("sourceKey", document.getSourceKey())
+                .set("publishedAt", document.getPublishedAt())
+                .set("language", document.getLanguage())
+                .set("fetchedAt", document.getFetchedAt());
+        if (document.getSentiment() != null) {
+            update.set("sentiment", document.getSentiment());
+        }
+        if (document.getCategory() != null) {
+            update.set("category", document.getCategory());
+        }
+        return update;
+    }
+
+    //the url identifies an article, title and source are the fallback when a provider leaves it out
+    static String articleId(ArticleDTO article) {
+        String identity;
+        if (article.getUrl() != null && !article.getUrl().isBlank()) {
+            identity = article.getUrl().trim().toLowerCase();
+        } else if (article.getTitle() != null && !article.getTitle().isBlank()) {
+            identity = article.getTitle().trim().toLowerCase() + "_" + (article.getSourceName() != null ? article.getSourceName().trim().toLowerCase() : "");
+        } else {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
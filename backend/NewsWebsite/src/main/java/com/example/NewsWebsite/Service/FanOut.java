@@ -0,0 +1,52 @@
+package com.example.NewsWebsite.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+//structured fan-out for blocking calls: each task is forked on its own thread, deadlines count from when the scope
+//was opened, and closing the scope cancels every task that is still running so none outlives the request
+final class FanOut<T> implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final LongSupplier nanoClock;
+    private final long openedAtNanos;
+    private final Map<String, Future<T>> forks = new LinkedHashMap<>();
+
+    FanOut(ExecutorService executor) {
+        this(executor, System::nanoTime);
+    }
+
+    FanOut(ExecutorService executor, LongSupplier nanoClock) {
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.openedAtNanos = nanoClock.getAsLong();
+    }
+
+    void fork(String name, Callable<T> task) {
+        forks.put(name, executor.submit(task));
+    }
+
+    //waits for the named task until its deadline, a task that misses it is cancelled
+    T join(String name, long deadlineMs) throws InterruptedException, ExecutionException, TimeoutException {
+        Future<T> fork = forks.get(name);
+        long remainingNanos = openedAtNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMs) - nanoClock.getAsLong();
+        try {
+            return fork.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            fork.cancel(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        forks.values().forEach(fork -> fork.cancel(true));
+    }
+}
@@ -1,140 +1,120 @@
 package com.example.NewsWebsite.Service;
 
+import com.example.NewsWebsite.Cache.ProviderResponseCache;
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Mapper.ArticleMapping;
 import com.example.NewsWebsite.Model.ArticleDTO;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.example.NewsWebsite.Resilience.ProviderResilience;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import reactor.core.publisher.Mono;
 import java.util.*;
 
 @Service
-public class GNewsService {
+@Order(2)
+public class GNewsService implements NewsProvider {
 
     @Autowired
-    private WebClient.Builder webClientBuilder;
-
-    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(GNewsService.class);
+    private WebClient webClient;
 
 
      @Autowired
      private SentimentService sentimentService;;
+
+    @Autowired
+    private ProviderResponseCache responseCache;
+
+    @Autowired
+    private ArticleJsonMapper articleMapper;
+
+    @Autowired
+    private ProviderResilience resilience;
+
     @Value("${gnews.key}")
     private String token;
 
-    private final String BASE_URL = "https://gnews.io/api/v4/search";
-    private final String TOP_HEADLINES_URL = "https://gnews.io/api/v4/top-headlines?";
+    //the base url can point at a stand-in, e.g. the load-test stubs
+    @Value("${gnews.base-url:https://gnews.io/api/v4}/search")
+    private String BASE_URL;
+
+    @Value("${gnews.base-url:https://gnews.io/api/v4}/top-headlines?")
+    private String TOP_HEADLINES_URL;
+
+    @Value("${gnews.timeout-ms:5000}")
+    private long timeoutMs;
+
+    //empty means every language GNews knows
+    @Value("${gnews.languages:}")
+    private Set<String> languages;
+
+    @Override
+    public String getName() {
+        return "GNews";
+    }
+
+    @Override
+    public Set<String> getLanguages() {
+        return languages;
+    }
+
+    @Override
+    public Set<Capability> getCapabilities() {
+        return EnumSet.allOf(Capability.class);
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
 
     // for query search
     public List<ArticleDTO> getNews(String query, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-
-        try {
-            String url = BASE_URL +
-                    "?q=" + query +
-                    "&lang=" + language +
-                    "&sortby=publishedAt" +
-                    "&token=" + token;
-
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("GNews response missing 'articles' field: {}", response);
-                return articles;
-            }
+        return getNewsAsync(query, language).block();
+    }
 
-            JSONArray jsonArticles = json.getJSONArray("articles");
-
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("image"),
-                        (source != null ? source.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        a.optString("language"),
-                        sentiment,
-                        null  // Category unknown for search results
-                );
-
-                articles.add(article);
-            }
+    @Override
+    public Mono<List<ArticleDTO>> getNewsAsync(String query, String language) {
+        return responseCache.getAsync("gnews-search", () -> fetchNews(query, language), "getNews", query, language);
+    }
 
-        } catch (Exception e) {
-            log.error("GNews fetch failed: {}", e.getMessage());
-        }
+    private Mono<List<ArticleDTO>> fetchNews(String query, String language) {
+        String url = BASE_URL +
+                "?q=" + query +
+                "&lang=" + language +
+                "&sortby=publishedAt" +
+                "&token=" + token;
 
-        return articles;
+        return fetchArticles(url, language, null)  // Category unknown for search results
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
     public List<ArticleDTO> getNewsBySource(String sourceName, String language) {
+        return getNewsBySourceAsync(sourceName, language).block();
+    }
+
+    @Override
+    public Mono<List<ArticleDTO>> getNewsBySourceAsync(String sourceName, String language) {
+        return responseCache.getAsync("gnews-search", () -> fetchNewsBySource(sourceName, language), "getNewsBySource", sourceName, language);
+    }
+
+    private Mono<List<ArticleDTO>> fetchNewsBySource(String sourceName, String language) {
         String url = BASE_URL +
                 "?q=latest" +
                 "&lang=" + language +
                 "&sortby=publishedAt" +
                 "&apikey=" + token;
 
-        try {
-            String response = webClientBuilder.build()
-                    .get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JSONObject jsonObject = new JSONObject(response);
-            JSONArray jsonArticles = jsonObject.getJSONArray("articles");
-
-            List<ArticleDTO> articles = new ArrayList<>();
-
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject sourceObj = a.optJSONObject("source");
-                String articleSourceName = sourceObj != null ? sourceObj.optString("name", "") : "";
-
-                if (!articleSourceName.trim().equalsIgnoreCase(sourceName.trim())) {
-                    continue;
-                }
-
-                ArticleDTO article = new ArticleDTO(
-                    a.optString("title"),
-                    a.optString("description"),
-                    a.optString("content"),
-                    a.optString("url"),
-                    a.optString("image"),
-                    articleSourceName,
-                    parseDate(a.optString("publishedAt")),
-                    language,
-                    sentimentService.analyzeSentiment(a.optString("title") + " " + a.optString("description")),
-                    null // Category unknown for search results
-                );
-                articles.add(article);
-            }
-
-            return articles;
-
-        } catch (Exception e) {
-            log.error("Error fetching news using WebClient: " + e.getMessage());
-            return Collections.emptyList();
-        }
+        return fetchArticles(url, language, null)  // Category unknown for search results
+                .map(articles -> {
+                    articles.removeIf(article -> !article.getSourceName().trim().equalsIgnoreCase(sourceName.trim()));
+                    return articles;
+                })
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
 
@@ -143,167 +123,90 @@ public class GNewsService {
     //get sources from the API
 
     public List<String> getSources(String language) {
-        Set<String> sources = new LinkedHashSet<>();
-        try {
-            // You can use top headlines or any news endpoint
-            String url = "https://gnews.io/api/v4/search?q=latest&lang="+language+"&sortby=publishedAt&apikey=" + token;
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            if (response == null) {
-                log.warn("GNews response was null");
-                return new ArrayList<>(sources);
-            }
-
-            JSONObject json = new JSONObject(response);
-            if (!json.has("articles")) {
-                log.warn("GNews top headlines response missing 'articles' field: {}", response);
-                return new ArrayList<>(sources);
-            }
+        return getSourcesAsync(language).block();
+    }
 
-            JSONArray jsonArticles = json.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject sourceObj = a.optJSONObject("source");
-                String articleSourceName = sourceObj != null ? sourceObj.optString("name", "") : "";
-                if (articleSourceName != null && !articleSourceName.isEmpty()) {
-                    sources.add(articleSourceName);
-                }
-            }
+    @Override
+    public Mono<List<String>> getSourcesAsync(String language) {
+        return responseCache.getAsync("gnews-search", () -> fetchSources(language), "getSources", language);
+    }
 
-        } catch (Exception e) {
-            log.error("GNews fetch sources from articles failed: {}", e.getMessage(), e);
-        }
-        return new ArrayList<>(sources);
+    private Mono<List<String>> fetchSources(String language) {
+        // You can use top headlines or any news endpoint
+        String url = BASE_URL + "?q=latest&lang="+language+"&sortby=publishedAt&apikey=" + token;
+        return fetchArticles(url, language, null)
+                .map(articles -> {
+                    Set<String> sources = new LinkedHashSet<>();
+                    for (ArticleDTO article : articles) {
+                        String articleSourceName = article.getSourceName();
+                        if (!articleSourceName.isEmpty() && !"Unknown".equals(articleSourceName)) {
+                            sources.add(articleSourceName);
+                        }
+                    }
+                    return (List<String>) new ArrayList<>(sources);
+                });
     }
 
 
     //get top headlines
 
     public List<ArticleDTO> getTopHeadlines(String language) {
-        List<ArticleDTO> topHeadlines = new ArrayList<>();
-        try {
-            String url = TOP_HEADLINES_URL +
-                    "lang=" + language + "&token=" + token;
-
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("GNews top headlines response missing 'articles' field: {}", response);
-                return topHeadlines;
-            }
+        return getTopHeadlinesAsync(language).block();
+    }
 
-            JSONArray jsonArticles = json.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("image"),
-                        (source != null ? source.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        language,
-                        sentiment,
-                        null // Category unknown for search results
-                );
-
-                topHeadlines.add(article);
-            }
+    @Override
+    public Mono<List<ArticleDTO>> getTopHeadlinesAsync(String language) {
+        return responseCache.getAsync("gnews-top-headlines", () -> fetchTopHeadlines(language), "getTopHeadlines", language);
+    }
 
-        } catch (Exception e) {
-            log.error("GNews fetch top headlines failed: {}", e.getMessage());
-        }
-        return topHeadlines;
+    private Mono<List<ArticleDTO>> fetchTopHeadlines(String language) {
+        String url = TOP_HEADLINES_URL +
+                "lang=" + language + "&token=" + token;
+
+        return fetchArticles(url, language, null)  // Category unknown for search results
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
     //get categories
 
     public List<String> getCategories(String language) {
-        List<String> categories = new ArrayList<>();
         return Arrays.asList(
                 "general", "world", "nation", "business", "technology", "entertainment", "sports", "science", "health"
         );
     }
 
+    @Override
+    public Mono<List<String>> getCategoriesAsync(String language) {
+        return Mono.just(getCategories(language));
+    }
+
     //get news by categories
     public List<ArticleDTO> getNewsByCategory(String category, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-        try {
-            String url = "https://gnews.io/api/v4/top-headlines?category=" + category + "&lang=" + language + "&token=" + token;
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("GNews response missing 'articles' field: {}", response);
-                return articles;
-            }
-
-            JSONArray jsonArticles = json.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("image"),
-                        (source != null ? source.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        a.optString("language"),
-                        sentiment,
-                        category  // Add category information
-                );
-
-                articles.add(article);
-            }
-        } catch (Exception e) {
-            log.error("GNews fetch by category failed: {}", e.getMessage());
-        }
-        return articles;
+        return getNewsByCategoryAsync(category, language).block();
     }
 
-    //parse date from string
+    @Override
+    public Mono<List<ArticleDTO>> getNewsByCategoryAsync(String category, String language) {
+        return responseCache.getAsync("gnews-top-headlines", () -> fetchNewsByCategory(category, language), "getNewsByCategory", category, language);
+    }
 
-    private LocalDateTime parseDate(String dateString) {
-        try {
-            return OffsetDateTime.parse(dateString).toLocalDateTime();
-        } catch (Exception e) {
-            log.warn("Date parse failed: {}", dateString);
-            return null;
-        }
+    private Mono<List<ArticleDTO>> fetchNewsByCategory(String category, String language) {
+        String url = TOP_HEADLINES_URL + "category=" + category + "&lang=" + language + "&token=" + token;
+        return fetchArticles(url, language, category)
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
     //combined news but no source wise filtering
     public List<ArticleDTO> getCombinedNews(String query, String language, String category, String sentiment,String source) {
-        List<ArticleDTO> allArticles = new ArrayList<>();
+        return getCombinedNewsAsync(query, source, category, sentiment, language).block();
+    }
+
+    @Override
+    public Mono<List<ArticleDTO>> getCombinedNewsAsync(String query, String source, String category, String sentiment, String language) {
+        return responseCache.getAsync("gnews-top-headlines", () -> fetchCombinedNews(query, language, category, sentiment, source), "getCombinedNews", query, language, category, sentiment, source);
+    }
 
+    private Mono<List<ArticleDTO>> fetchCombinedNews(String query, String language, String category, String sentiment,String source) {
         StringBuilder urlBuilder = new StringBuilder(TOP_HEADLINES_URL);
 
 
@@ -323,61 +226,33 @@ public class GNewsService {
 
         urlBuilder.append("apikey=").append(token);
 
-        try {
-            String response = webClientBuilder.build()
-                    .get()
-                    .uri(urlBuilder.toString())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JSONObject jsonObject = new JSONObject(response);
-            JSONArray jsonArticles = jsonObject.getJSONArray("articles");
-
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject sourceObj = a.optJSONObject("source");
-                String articleSource = sourceObj != null ? sourceObj.optString("name", "") : "";
-
-                if (source != null && !source.trim().isEmpty() &&
-                        !articleSource.equalsIgnoreCase(source.trim())) {
-                    continue;
-                }
-
-                String title = a.optString("title", "");
-                String description = a.optString("description", "");
-                String content = a.optString("content", "");
-
-                String combinedText = (title + " " + description + " " + content).trim();
-                String analyzedSentiment = sentimentService.analyzeSentiment(combinedText);
-
-                if (sentiment != null && !sentiment.trim().isEmpty() &&
-                        !analyzedSentiment.equalsIgnoreCase(sentiment.trim())) {
-                    continue;
-                }
-
-                ArticleDTO article = new ArticleDTO(
-                        title,
-                        description,
-                        content,
-                        a.optString("url"),
-                        a.optString("image"),
-                        articleSource,
-                        parseDate(a.optString("publishedAt")),
-                        language,
-                        analyzedSentiment,
-                        category
-                );
-
-                allArticles.add(article);
-            }
-
-        } catch (Exception e) {
-            log.error("Error fetching news in searchCombined: " + e.getMessage());
-            return Collections.emptyList();
-        }
+        return fetchArticles(urlBuilder.toString(), language, category)
+                .map(allArticles -> {
+                    if (source != null && !source.trim().isEmpty()) {
+                        allArticles.removeIf(article -> !article.getSourceName().equalsIgnoreCase(source.trim()));
+                    }
+                    return allArticles;
+                })
+                .flatMap(sentimentService::classifyArticlesAsync)
+                .map(allArticles -> {
+                    if (sentiment != null && !sentiment.trim().isEmpty()) {
+                        allArticles.removeIf(article -> article.getSentiment() == null
+                                || !article.getSentiment().equalsIgnoreCase(sentiment.trim()));
+                    }
+                    return allArticles;
+                });
+    }
 
-        return allArticles;
+    //fetches a GNews url through the circuit breaker of its endpoint and maps the articles straight from the response bytes
+    private Mono<List<ArticleDTO>> fetchArticles(String url, String language, String category) {
+        String endpoint = url.startsWith(TOP_HEADLINES_URL) ? "top-headlines" : "search";
+        return resilience.call("gnews", endpoint, () -> webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .map(body -> articleMapper.readArticles(body, ArticleMapping.GNEWS, language, category))
+                .defaultIfEmpty(new ArrayList<>()));
     }
 
 
@@ -388,4 +263,3 @@ public class GNewsService {
 
 
 }
-
@@ -0,0 +1,131 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.AggregatedNews;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+//periodically pulls the top headlines and every category per language so requests are served from the snapshot
+@Service
+public class HeadlineIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadlineIngestionService.class);
+
+    private final NewsAggregatorService newsAggregatorService;
+    private final HeadlineSnapshot headlineSnapshot;
+    private final Environment environment;
+
+    @Value("${news.ingestion.enabled:false}")
+    private boolean enabled;
+
+    @Value("${news.ingestion.languages:en}")
+    private List<String> languages;
+
+    //empty means every category the providers offer for the language
+    @Value("${news.ingestion.categories:}")
+    private List<String> categories;
+
+    @Value("${news.ingestion.interval-ms:300000}")
+    private long defaultIntervalMs;
+
+    @Value("${news.ingestion.jitter-ms:30000}")
+    private long jitterMs;
+
+    //the scheduler pool size caps how many fetches run at once
+    @Value("${news.ingestion.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    public HeadlineIngestionService(NewsAggregatorService newsAggregatorService, HeadlineSnapshot headlineSnapshot,
+                                    Environment environment) {
+        this.newsAggregatorService = newsAggregatorService;
+        this.headlineSnapshot = headlineSnapshot;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(maxConcurrent);
+        scheduler.setThreadNamePrefix("ingestion-");
+        scheduler.setDaemon(true);
+        scheduler.setVirtualThreads(virtualThreads);
+        scheduler.initialize();
+
+        for (String language : languages) {
+            schedule(language, null, jitter());
+            for (String category : categoriesFor(language)) {
+                schedule(language, category, jitter());
+            }
+        }
+        log.info("Headline ingestion started for languages: {}", languages);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private Set<String> categoriesFor(String language) {
+        Set<String> targets = new LinkedHashSet<>();
+        if (!categories.isEmpty()) {
+            targets.addAll(categories);
+            return targets;
+        }
+        targets.addAll(RequestPriority.background(() -> newsAggregatorService.getCategories(language)));
+        return targets;
+    }
+
+    private void schedule(String language, String category, long delayMs) {
+        scheduler.schedule(() -> ingest(language, category), Instant.now().plusMillis(delayMs));
+    }
+
+    //a null category stands for the top headlines
+    private void ingest(String language, String category) {
+        try {
+            AggregatedNews result = RequestPriority.background(() -> category == null
+                    ? newsAggregatorService.fetchTopHeadlines(language)
+                    : newsAggregatorService.fetchNewsByCategory(category, language));
+            if (!result.getArticles().isEmpty()) {
+                headlineSnapshot.publish(language, category, result.getArticles());
+            }
+            log.debug("Ingested {} articles for language: {} category: {}", result.getArticles().size(), language, category);
+        } catch (Exception e) {
+            log.error("Ingestion failed for language: {} category: {}: {}", language, category, e.getMessage());
+        }
+        schedule(language, category, intervalFor(language, category) + jitter());
+    }
+
+    //news.ingestion.intervals.<language>.<category> overrides news.ingestion.intervals.<language>.default
+    private long intervalFor(String language, String category) {
+        long languageInterval = environment.getProperty("news.ingestion.intervals." + language + ".default", Long.class, defaultIntervalMs);
+        String target = category == null ? "top" : category;
+        return environment.getProperty("news.ingestion.intervals." + language + "." + target, Long.class, languageInterval);
+    }
+
+    //spreads the fetches so every target does not hit the providers at the same moment
+    private long jitter() {
+        return jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0;
+    }
+}
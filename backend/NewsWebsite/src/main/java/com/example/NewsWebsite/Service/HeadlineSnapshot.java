@@ -0,0 +1,50 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+//latest pre-fetched and pre-classified headlines per language and category, published by the ingestion pipeline
+@Component
+public class HeadlineSnapshot {
+
+    private final long maxAgeMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public HeadlineSnapshot(@Value("${news.ingestion.snapshot-max-age-ms:900000}") long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    //a null category stands for the top headlines of the language
+    public void publish(String language, String category, List<ArticleDTO> articles) {
+        entries.put(keyFor(language, category), new Entry(List.copyOf(articles), System.currentTimeMillis()));
+    }
+
+    public Optional<List<ArticleDTO>> get(String language, String category) {
+        Entry entry = entries.get(keyFor(language, category));
+        if (entry == null || System.currentTimeMillis() - entry.publishedAt > maxAgeMillis) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.articles);
+    }
+
+    private static String keyFor(String language, String category) {
+        return language + "|" + (category == null ? "" : category.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static final class Entry {
+        private final List<ArticleDTO> articles;
+        private final long publishedAt;
+
+        private Entry(List<ArticleDTO> articles, long publishedAt) {
+            this.articles = articles;
+            this.publishedAt = publishedAt;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Dedup.DuplicateCollapser;
+import com.example.NewsWebsite.Model.ArticleDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+//k-way merge of the provider results into one newest-first list: a heap holds the head of every provider's list, so
+//taking the next article costs O(log P), and near-duplicates are collapsed as they come out. Stops after limit stories.
+public final class NewestFirstMerge {
+
+    private NewestFirstMerge() {
+    }
+
+    //the newest copy of a story is the one kept, ties between providers go to the one earlier in the list
+    public static List<ArticleDTO> merge(Collection<List<ArticleDTO>> providerResults, int maxDistance, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, providerResults.size()));
+        int rank = 0;
+        for (List<ArticleDTO> articles : providerResults) {
+            if (!articles.isEmpty()) {
+                heads.add(new Head(newestFirst(articles), rank));
+            }
+            rank++;
+        }
+
+        DuplicateCollapser collapser = new DuplicateCollapser(maxDistance);
+        while (!heads.isEmpty() && collapser.size() < limit) {
+            Head head = heads.poll();
+            collapser.add(head.current());
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return collapser.result();
+    }
+
+    //providers mostly answer newest-first already; the rest are sorted on a copy, the list may be a cached one
+    private static List<ArticleDTO> newestFirst(List<ArticleDTO> articles) {
+        for (int i = 1; i < articles.size(); i++) {
+            if (ArticleDTO.NEWEST_FIRST.compare(articles.get(i - 1), articles.get(i)) > 0) {
+                List<ArticleDTO> sorted = new ArrayList<>(articles);
+                sorted.sort(ArticleDTO.NEWEST_FIRST);
+                return sorted;
+            }
+        }
+        return articles;
+    }
+
+    //the next unmerged article of one provider
+    private static final class Head implements Comparable<Head> {
+
+        private final List<ArticleDTO> articles;
+        private final int rank;
+        private int index;
+
+        private Head(List<ArticleDTO> articles, int rank) {
+            this.articles = articles;
+            this.rank = rank;
+        }
+
+        private ArticleDTO current() {
+            return articles.get(index);
+        }
+
+        private boolean advance() {
+            return ++index < articles.size();
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            int order = ArticleDTO.NEWEST_FIRST.compare(current(), other.current());
+            return order != 0 ? order : Integer.compare(rank, other.rank);
+        }
+    }
+}
@@ -1,476 +1,279 @@
 package com.example.NewsWebsite.Service;
 
+import com.example.NewsWebsite.Cache.ProviderResponseCache;
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Mapper.ArticleMapping;
 import com.example.NewsWebsite.Model.ArticleDTO;
-import lombok.extern.slf4j.Slf4j;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.example.NewsWebsite.Resilience.ProviderResilience;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
-
-public class NewsAPIService {
+@Order(1)
+public class NewsAPIService implements NewsProvider {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(NewsAPIService.class);
 
     @Autowired
     private SentimentService sentimentService;
 
+    @Autowired
+    private ProviderResponseCache responseCache;
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private ArticleJsonMapper articleMapper;
+
+    @Autowired
+    private ProviderResilience resilience;
+
+    @Autowired
+    private NewsAPISourceRegistry sourceRegistry;
+
     @Value("${newsapi.key}")
     private String apiKey;
 
-    private final String EVERYTHING_URL = "https://newsapi.org/v2/everything";
+    //the base url can point at a stand-in, e.g. the load-test stubs
+    @Value("${newsapi.base-url:https://newsapi.org/v2}/everything")
+    private String EVERYTHING_URL;
+
+    @Value("${newsapi.base-url:https://newsapi.org/v2}/top-headlines")
+    private String TOP_HEADLINES_URL;
+
+    @Value("${newsapi.timeout-ms:5000}")
+    private long timeoutMs;
+
+    //the sources catalog and the headline categories are per country, the plan covers the english ones
+    @Value("${newsapi.languages:en}")
+    private Set<String> languages;
+
+    @Override
+    public String getName() {
+        return "NewsAPI";
+    }
+
+    @Override
+    public Set<String> getLanguages() {
+        return languages;
+    }
+
+    //there are no language-wide top headlines, and /top-headlines ignores the query once a category is set
+    @Override
+    public Set<Capability> getCapabilities() {
+        return EnumSet.of(Capability.CATEGORIES, Capability.SOURCES);
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
 
     // for query search
     public List<ArticleDTO> getNews(String query, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-        try {
-            String url = EVERYTHING_URL +
-                    "?q=" + query +
-                    "&language=" + language +
-                    "&sortBy=publishedAt" +
-                    "&apiKey=" + apiKey;
-            WebClient webClient=WebClient.create();
-            String response=webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json=new JSONObject(response);
-
-            if(!json.has("articles")){
-                log.warn("NewsAPI response missing 'articles' field: {}", response);
-                return articles;
-            }
-
-            JSONArray jsonArticles = json.getJSONArray("articles");
-
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.getJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("urlToImage"),
-                        source.optString("name"),
-                        parseDate(a.optString("publishedAt")),
-                        a.optString("language"),
-                        sentiment,
-                        null  // Category unknown for search results
-                );
-
-                articles.add(article);
-            }
-
-        } catch (Exception e) {
-            log.error("NewsAPI fetch failed: {}", e.getMessage());
-        }
+        return getNewsAsync(query, language).block();
+    }
+
+    @Override
+    public Mono<List<ArticleDTO>> getNewsAsync(String query, String language) {
+        return responseCache.getAsync("newsapi-everything", () -> fetchNews(query, language), "getNews", query, language);
+    }
 
-        return articles;
+    private Mono<List<ArticleDTO>> fetchNews(String query, String language) {
+        String url = EVERYTHING_URL +
+                "?q=" + query +
+                "&language=" + language +
+                "&sortBy=publishedAt" +
+                "&apiKey=" + apiKey;
+        return fetchArticles(url, language, null)  // Category unknown for search results
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
     //for getting news between two dates
     public List<ArticleDTO> getNewsByDateAndLanguage(String query, String fromDate, String toDate, String language) {
+        return getNewsByDateAndLanguageAsync(query, fromDate, toDate, language).block();
+    }
+
+    public Mono<List<ArticleDTO>> getNewsByDateAndLanguageAsync(String query, String fromDate, String toDate, String language) {
+        return responseCache.getAsync("newsapi-everything", () -> fetchNewsByDateAndLanguage(query, fromDate, toDate, language), "getNewsByDateAndLanguage", query, fromDate, toDate, language);
+    }
+
+    private Mono<List<ArticleDTO>> fetchNewsByDateAndLanguage(String query, String fromDate, String toDate, String language) {
         String url = String.format(
-                "https://newsapi.org/v2/everything?q=%s&from=%s&to=%s&language=%s&apiKey=%s",
+                EVERYTHING_URL + "?q=%s&from=%s&to=%s&language=%s&apiKey=%s",
                 query, fromDate, toDate, language, apiKey
         );
 
-        List<ArticleDTO> articles = new ArrayList<>();
-        try {
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("NewsAPI response missing 'articles' field: {}", response);
-                return articles;
-            }
-
-            JSONArray jsonArticles = json.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("urlToImage"),
-                        (source != null ? source.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        language,
-                        sentiment,
-                        null  // Category unknown for search results
-                );
-
-                articles.add(article);
-            }
-
-        } catch (Exception e) {
-            log.error("NewsAPI fetch by date failed: {}", e.getMessage());
-        }
-        return articles;
+        return fetchArticles(url, language, null)  // Category unknown for search results
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
 
-    //for getting sources
+    //for getting sources, served from the in-memory catalog
     public List<String> getSources(String language) {
-        List<String> sources = new ArrayList<>();
-        try {
-            String url = "https://newsapi.org/v2/top-headlines/sources?language=" + language + "&apiKey=" + apiKey;
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("sources")) {
-                log.warn("NewsAPI response missing 'sources' field: {}", response);
-                return sources;
-            }
-
-            JSONArray jsonSources = json.getJSONArray("sources");
-            for (int i = 0; i < jsonSources.length(); i++) {
-                JSONObject source = jsonSources.getJSONObject(i);
-                sources.add(source.optString("name"));
-            }
-
-        } catch (Exception e) {
-            log.error("NewsAPI fetch sources failed: {}", e.getMessage());
-        }
+        return sourceRegistry.getSourceNames(language);
+    }
 
-        return sources;
+    @Override
+    public Mono<List<String>> getSourcesAsync(String language) {
+        return sourceRegistry.getSourceNamesAsync(language);
     }
 
     //for getting news by sources
     public List<ArticleDTO> getNewsBySource(String sourceName, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-        try {
-
-            String sourcesUrl = "https://newsapi.org/v2/top-headlines/sources?language=" + language + "&apiKey=" + apiKey;
-            WebClient webClient = WebClient.create();
-
-            String sourcesResponse = webClient.get()
-                    .uri(sourcesUrl)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JSONObject sourcesJson = new JSONObject(sourcesResponse);
-            JSONArray sourcesArray = sourcesJson.getJSONArray("sources");
-
-
-            String matchedSourceId = null;
-            for (int i = 0; i < sourcesArray.length(); i++) {
-                JSONObject sourceObj = sourcesArray.getJSONObject(i);
-                String name = sourceObj.optString("name");
-                if (name != null && name.equalsIgnoreCase(sourceName)) {
-                    matchedSourceId = sourceObj.optString("id");
-                    break;
-                }
-            }
-
-            if (matchedSourceId == null || matchedSourceId.isEmpty()) {
-                log.warn("No matching source ID found for source name: {} in language: {}", sourceName, language);
-                return articles;
-            }
-
-
-            String newsUrl = "https://newsapi.org/v2/everything?sources=" + matchedSourceId
-                    + "&language=" + language
-                    + "&apiKey=" + apiKey;
-
-            String newsResponse = webClient.get()
-                    .uri(newsUrl)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JSONObject newsJson = new JSONObject(newsResponse);
-            if (!newsJson.has("articles")) {
-                log.warn("No articles field in response from NewsAPI for source: {}", matchedSourceId);
-                return articles;
-            }
-
-            JSONArray jsonArticles = newsJson.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject sourceObj = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("urlToImage"),
-                        (sourceObj != null ? sourceObj.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        language,
-                        sentiment,
-                        null  // Category unknown for search results
-                );
-
-                articles.add(article);
-            }
-
-        } catch (Exception e) {
-            log.error("Failed to fetch news by source: {} and language: {}. Error: {}", sourceName, language, e.getMessage());
-        }
+        return getNewsBySourceAsync(sourceName, language).block();
+    }
+
+    @Override
+    public Mono<List<ArticleDTO>> getNewsBySourceAsync(String sourceName, String language) {
+        return responseCache.getAsync("newsapi-everything", () -> fetchNewsBySource(sourceName, language), "getNewsBySource", sourceName, language);
+    }
 
-        return articles;
+    private Mono<List<ArticleDTO>> fetchNewsBySource(String sourceName, String language) {
+        return sourceRegistry.findSourceIdAsync(sourceName, language)
+                .filter(matchedSourceId -> !matchedSourceId.isEmpty())
+                .flatMap(matchedSourceId -> {
+                    String newsUrl = EVERYTHING_URL + "?sources=" + matchedSourceId
+                            + "&language=" + language
+                            + "&apiKey=" + apiKey;
+
+                    return fetchArticles(newsUrl, language, null)  // Category unknown for search results
+                            .flatMap(sentimentService::classifyArticlesAsync);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No matching source ID found for source name: {} in language: {}", sourceName, language);
+                    return new ArrayList<ArticleDTO>();
+                }));
     }
 
-    //get categories
+    //get categories, served from the in-memory catalog
     public List<String> getCategories(String language) {
-        List<String> categories = new ArrayList<>();
-        try {
-            String url = "https://newsapi.org/v2/sources?language=" + language + "&apiKey=" + apiKey;
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("sources")) {
-                log.warn("NewsAPI response missing 'sources' field: {}", response);
-                return categories;
-            }
-
-            JSONArray jsonSources = json.getJSONArray("sources");
-            for (int i = 0; i < jsonSources.length(); i++) {
-                JSONObject source = jsonSources.getJSONObject(i);
-                String category = source.optString("category");
-                if (category != null && !category.isEmpty() && !categories.contains(category)) {
-                    categories.add(category);
-                }
-            }
-        } catch (Exception e) {
-            log.error("NewsAPI fetch categories failed: {}", e.getMessage());
-        }
-        return categories;
+        return sourceRegistry.getCategories(language);
+    }
+
+    @Override
+    public Mono<List<String>> getCategoriesAsync(String language) {
+        return sourceRegistry.getCategoriesAsync(language);
     }
 
     //get news by categories
     public List<ArticleDTO> getNewsByCategory(String category, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-        try {
-            String url = "https://newsapi.org/v2/top-headlines?category=" + category + "&language=" + language + "&apiKey=" + apiKey;
-            WebClient webClient = WebClient.create();
-            String response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("NewsAPI response missing 'articles' field: {}", response);
-                return articles;
-            }
-
-            JSONArray jsonArticles = json.getJSONArray("articles");
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject source = a.optJSONObject("source");
-
-                String sentimentInput = a.optString("title") + " " + a.optString("description");
-                String sentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                ArticleDTO article = new ArticleDTO(
-                        a.optString("title"),
-                        a.optString("description"),
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("urlToImage"),
-                        (source != null ? source.optString("name") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        a.optString("language"),
-                        sentiment,
-                        category  // Add category information
-                );
-
-                articles.add(article);
-            }
-        } catch (Exception e) {
-            log.error("NewsAPI fetch by category failed: {}", e.getMessage());
-        }
-        return articles;
+        return getNewsByCategoryAsync(category, language).block();
     }
 
-    //parse date from string
-    private LocalDateTime parseDate(String dateString) {
-        try {
-            return OffsetDateTime.parse(dateString).toLocalDateTime();
+    @Override
+    public Mono<List<ArticleDTO>> getNewsByCategoryAsync(String category, String language) {
+        return responseCache.getAsync("newsapi-top-headlines", () -> fetchNewsByCategory(category, language), "getNewsByCategory", category, language);
+    }
 
-        } catch (Exception e) {
-            log.warn("Date parse failed: {}", dateString);
-            return null;
-        }
+    private Mono<List<ArticleDTO>> fetchNewsByCategory(String category, String language) {
+        String url = TOP_HEADLINES_URL + "?category=" + category + "&language=" + language + "&apiKey=" + apiKey;
+        return fetchArticles(url, language, category)
+                .flatMap(sentimentService::classifyArticlesAsync);
     }
+
     public List<ArticleDTO> getCombinedNews(String query, String sourceName, String category, String sentimentFilter, String language) {
-        List<ArticleDTO> articles = new ArrayList<>();
-
-        try {
-            WebClient webClient = WebClient.create();
-
-            // Step 1: Resolve source name → ID (only needed for /everything endpoint)
-            String matchedSourceId = null;
-            if (sourceName != null && !sourceName.isBlank() && (category == null || category.isBlank())) {
-                String sourcesUrl = "https://newsapi.org/v2/top-headlines/sources?language=" + language + "&apiKey=" + apiKey;
-
-                String sourcesResponse = webClient.get()
-                        .uri(sourcesUrl)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-
-                JSONObject sourcesJson = new JSONObject(sourcesResponse);
-                JSONArray sourcesArray = sourcesJson.getJSONArray("sources");
-
-                for (int i = 0; i < sourcesArray.length(); i++) {
-                    JSONObject sourceObj = sourcesArray.getJSONObject(i);
-                    String name = sourceObj.optString("name");
-                    if (name != null && name.equalsIgnoreCase(sourceName.trim())) {
-                        matchedSourceId = sourceObj.optString("id");
-                        break;
-                    }
-                }
+        return getCombinedNewsAsync(query, sourceName, category, sentimentFilter, language).block();
+    }
 
-                if (matchedSourceId == null || matchedSourceId.isBlank()) {
-                    log.warn("No matching source ID found for source name: {} in language: {}", sourceName, language);
-                    return articles;
-                }
-            }
-
-            // Step 2: Build NewsAPI query URL
-            StringBuilder urlBuilder;
-            
-            if (category != null && !category.isBlank()) {
-                // Use top-headlines endpoint for category-based search
-                urlBuilder = new StringBuilder("https://newsapi.org/v2/top-headlines?");
-                urlBuilder.append("category=").append(category.trim()).append("&");
-                
-                if (language != null && !language.isBlank()) {
-                    urlBuilder.append("language=").append(language.trim()).append("&");
-                }
-                
-                // Query is not supported in top-headlines, so we ignore it
-            } else {
-                // Use everything endpoint for query-based search
-                urlBuilder = new StringBuilder("https://newsapi.org/v2/everything?");
-
-                if (query != null && !query.isBlank()) {
-                    urlBuilder.append("q=").append(query.trim()).append("&");
-                } else {
-                    urlBuilder.append("q=latest&");
-                }
-
-                if (language != null && !language.isBlank()) {
-                    urlBuilder.append("language=").append(language.trim()).append("&");
-                }
-
-                if (matchedSourceId != null) {
-                    urlBuilder.append("sources=").append(matchedSourceId).append("&");
-                }
-            }
-
-            urlBuilder.append("sortBy=publishedAt&apiKey=").append(apiKey);
-
-            // Step 3: Fetch articles
-            String response = webClient.get()
-                    .uri(urlBuilder.toString())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JSONObject json = new JSONObject(response);
-
-            if (!json.has("articles")) {
-                log.warn("NewsAPI response missing 'articles' field: {}", response);
-                return articles;
-            }
-
-            JSONArray jsonArticles = json.getJSONArray("articles");
-
-            for (int i = 0; i < jsonArticles.length(); i++) {
-                JSONObject a = jsonArticles.getJSONObject(i);
-                JSONObject sourceObj = a.optJSONObject("source");
-
-                String title = a.optString("title", "");
-                String description = a.optString("description", "");
-                String sentimentInput = title + " " + description;
-                String analyzedSentiment = sentimentService.analyzeSentiment(sentimentInput);
-
-                // Step 4: Sentiment filter
-                if (sentimentFilter != null && !sentimentFilter.isBlank()) {
-                    if (analyzedSentiment == null || !analyzedSentiment.equalsIgnoreCase(sentimentFilter.trim())) {
-                        continue;
+    @Override
+    public Mono<List<ArticleDTO>> getCombinedNewsAsync(String query, String sourceName, String category, String sentimentFilter, String language) {
+        return responseCache.getAsync("newsapi-combined", () -> fetchCombinedNews(query, sourceName, category, sentimentFilter, language), "getCombinedNews", query, sourceName, category, sentimentFilter, language);
+    }
+
+    private Mono<List<ArticleDTO>> fetchCombinedNews(String query, String sourceName, String category, String sentimentFilter, String language) {
+        // Step 1: Resolve source name → ID (only needed for /everything endpoint)
+        boolean resolveSource = sourceName != null && !sourceName.isBlank() && (category == null || category.isBlank());
+        Mono<String> sourceId = resolveSource ? sourceRegistry.findSourceIdAsync(sourceName, language) : Mono.just("");
+
+        return sourceId
+                .filter(matchedSourceId -> !resolveSource || !matchedSourceId.isBlank())
+                .flatMap(matchedSourceId -> {
+                    // Step 2: Build NewsAPI query URL
+                    StringBuilder urlBuilder;
+
+                    if (category != null && !category.isBlank()) {
+                        // Use top-headlines endpoint for category-based search
+                        urlBuilder = new StringBuilder(TOP_HEADLINES_URL + "?");
+                        urlBuilder.append("category=").append(category.trim()).append("&");
+
+                        if (language != null && !language.isBlank()) {
+                            urlBuilder.append("language=").append(language.trim()).append("&");
+                        }
+
+                        // Query is not supported in top-headlines, so we ignore it
+                    } else {
+                        // Use everything endpoint for query-based search
+                        urlBuilder = new StringBuilder(EVERYTHING_URL + "?");
+
+                        if (query != null && !query.isBlank()) {
+                            urlBuilder.append("q=").append(query.trim()).append("&");
+                        } else {
+                            urlBuilder.append("q=latest&");
+                        }
+
+                        if (language != null && !language.isBlank()) {
+                            urlBuilder.append("language=").append(language.trim()).append("&");
+                        }
+
+                        if (!matchedSourceId.isEmpty()) {
+                            urlBuilder.append("sources=").append(matchedSourceId).append("&");
+                        }
                     }
-                }
 
-                // Step 5: Source filter (for category-based search)
-                if (category != null && !category.isBlank() && sourceName != null && !sourceName.isBlank()) {
-                    String articleSourceName = sourceObj != null ? sourceObj.optString("name", "") : "";
-                    if (!articleSourceName.trim().equalsIgnoreCase(sourceName.trim())) {
-                        continue;
+                    urlBuilder.append("sortBy=publishedAt&apiKey=").append(apiKey);
+
+                    // Step 3: Fetch articles
+                    return fetchArticles(urlBuilder.toString(), language, category);
+                })
+                .map(articles -> {
+                    // Step 4: Source filter (for category-based search)
+                    if (category != null && !category.isBlank() && sourceName != null && !sourceName.isBlank()) {
+                        articles.removeIf(article -> !article.getSourceName().trim().equalsIgnoreCase(sourceName.trim()));
                     }
-                }
-
-                ArticleDTO article = new ArticleDTO(
-                        title,
-                        description,
-                        a.optString("content"),
-                        a.optString("url"),
-                        a.optString("urlToImage"),
-                        (sourceObj != null ? sourceObj.optString("name", "Unknown") : "Unknown"),
-                        parseDate(a.optString("publishedAt")),
-                        language,
-                        analyzedSentiment,
-                        category
-                );
-
-                articles.add(article);
-            }
-
-        } catch (Exception e) {
-            log.error("Error in getCombinedNews with query='{}', source='{}': {}", query, sourceName, e.getMessage());
-        }
+                    return articles;
+                })
+                // Step 5: Classify the whole page in one call, then apply the sentiment filter
+                .flatMap(sentimentService::classifyArticlesAsync)
+                .map(articles -> {
+                    if (sentimentFilter != null && !sentimentFilter.isBlank()) {
+                        articles.removeIf(article -> article.getSentiment() == null
+                                || !article.getSentiment().equalsIgnoreCase(sentimentFilter.trim()));
+                    }
+                    return articles;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("No matching source ID found for source name: {} in language: {}", sourceName, language);
+                    return new ArrayList<ArticleDTO>();
+                }));
+    }
 
-        return articles;
+    //fetches a NewsAPI url through the circuit breaker of its endpoint and maps the articles straight from the response bytes
+    private Mono<List<ArticleDTO>> fetchArticles(String url, String language, String category) {
+        String endpoint = url.startsWith(TOP_HEADLINES_URL) ? "top-headlines" : "everything";
+        return resilience.call("newsapi", endpoint, () -> webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .map(body -> articleMapper.readArticles(body, ArticleMapping.NEWS_API, language, category))
+                .defaultIfEmpty(new ArrayList<>()));
     }
 
 
 
+
     private boolean queryMatchesCategory(String title, String description, String category) {
         String combined = (title + " " + description).toLowerCase();
         switch (category.toLowerCase()) {
@@ -493,4 +296,3 @@ public class NewsAPIService {
 
 
 }
-
@@ -0,0 +1,145 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Model.SourceDTO;
+import com.example.NewsWebsite.Resilience.ProviderResilience;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//keeps the NewsAPI sources catalog in memory per language so name lookups do not need an upstream call
+@Service
+public class NewsAPISourceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsAPISourceRegistry.class);
+
+    @Value("${newsapi.base-url:https://newsapi.org/v2}/top-headlines/sources")
+    private String SOURCES_URL;
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private ArticleJsonMapper articleMapper;
+
+    @Autowired
+    private ProviderResilience resilience;
+
+    @Value("${newsapi.key}")
+    private String apiKey;
+
+    @Value("${newsapi.sources.failure-ttl-ms:30000}")
+    private long failureTtlMillis;
+
+    private final Map<String, Mono<Catalog>> catalogs = new ConcurrentHashMap<>();
+
+    //case-insensitive name to id lookup, null when the source is unknown
+    public String findSourceId(String sourceName, String language) {
+        Catalog catalog = catalog(language).block();
+        return catalog == null ? null : catalog.idsByName.get(normalize(sourceName));
+    }
+
+    public List<String> getSourceNames(String language) {
+        Catalog catalog = catalog(language).block();
+        return catalog == null ? new ArrayList<>() : catalog.names;
+    }
+
+    public List<String> getCategories(String language) {
+        Catalog catalog = catalog(language).block();
+        return catalog == null ? new ArrayList<>() : catalog.categories;
+    }
+
+    //non-blocking lookups, they wait only for the first load of a language
+    public Mono<String> findSourceIdAsync(String sourceName, String language) {
+        return catalog(language).mapNotNull(catalog -> catalog.idsByName.get(normalize(sourceName)));
+    }
+
+    public Mono<List<String>> getSourceNamesAsync(String language) {
+        return catalog(language).map(catalog -> catalog.names).defaultIfEmpty(new ArrayList<>());
+    }
+
+    public Mono<List<String>> getCategoriesAsync(String language) {
+        return catalog(language).map(catalog -> catalog.categories).defaultIfEmpty(new ArrayList<>());
+    }
+
+    //every caller of a language shares one load, a failed load is remembered for failure-ttl-ms before it is retried
+    private Mono<Catalog> catalog(String language) {
+        return catalogs.computeIfAbsent(language, key -> load(key)
+                .cache(catalog -> Duration.ofMillis(Long.MAX_VALUE),
+                        error -> Duration.ofMillis(failureTtlMillis),
+                        () -> Duration.ofMillis(failureTtlMillis)));
+    }
+
+    //reloads every language that has been requested so far, a failed reload keeps the previous catalog
+    @Scheduled(fixedDelayString = "${newsapi.sources.refresh-ms:21600000}", initialDelayString = "${newsapi.sources.refresh-ms:21600000}")
+    public void refresh() {
+        for (String language : new ArrayList<>(catalogs.keySet())) {
+            load(language).subscribe(catalog -> catalogs.put(language, Mono.just(catalog)));
+        }
+    }
+
+    //goes through the NewsAPI breaker like any other call, completes empty when the catalog could not be loaded
+    private Mono<Catalog> load(String language) {
+        String url = SOURCES_URL + "?language=" + language + "&apiKey=" + apiKey;
+        return resilience.call("newsapi", "sources", () -> webClient.get()
+                        .uri(url)
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(DataBufferUtils::join)
+                        .map(articleMapper::readSources))
+                .flatMap(sources -> {
+                    if (sources.isEmpty()) {
+                        log.warn("NewsAPI returned no sources for language: {}", language);
+                        return Mono.<Catalog>empty();
+                    }
+                    log.info("Loaded {} NewsAPI sources for language: {}", sources.size(), language);
+                    return Mono.just(new Catalog(sources));
+                })
+                .onErrorResume(e -> {
+                    log.error("NewsAPI fetch sources failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Catalog {
+        private final Map<String, String> idsByName = new HashMap<>();
+        private final List<String> names;
+        private final List<String> categories;
+
+        private Catalog(List<SourceDTO> sources) {
+            List<String> names = new ArrayList<>(sources.size());
+            Set<String> categories = new LinkedHashSet<>();
+            for (SourceDTO source : sources) {
+                names.add(source.getName());
+                idsByName.putIfAbsent(normalize(source.getName()), source.getId());
+                if (source.getCategory() != null && !source.getCategory().isEmpty()) {
+                    categories.add(source.getCategory());
+                }
+            }
+            this.names = Collections.unmodifiableList(names);
+            this.categories = List.copyOf(categories);
+        }
+    }
+}
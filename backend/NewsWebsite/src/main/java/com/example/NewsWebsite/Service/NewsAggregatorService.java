@@ -1,306 +1,448 @@
 package com.example.NewsWebsite.Service;
 
+import com.example.NewsWebsite.Dedup.DuplicateCollapser;
+import com.example.NewsWebsite.Model.AggregatedNews;
 import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Resilience.ProviderUnavailableException;
+import com.example.NewsWebsite.Search.ArticleIndex;
+import com.example.NewsWebsite.Service.NewsProvider.Capability;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+//every search is composed without blocking; the blocking methods used by the MVC controller just wait for the result
 @Service
 public class NewsAggregatorService {
 
     private static final Logger logger = LoggerFactory.getLogger(NewsAggregatorService.class);
 
-    private final NewsAPIService newsAPIService;
-    private final GNewsService gNewsService;
+    private final List<NewsProvider> providers;
+    private final Map<String, NewsProvider> providersByName = new LinkedHashMap<>();
+    private final ExecutorService providerExecutor;
+    private final Scheduler blockingScheduler;
+    private final ArticleStoreService articleStore;
+    private final HeadlineSnapshot headlineSnapshot;
+    private final ArticleIndex articleIndex;
+    private final Timer mergeTimer;
+    private final DistributionSummary articlesBeforeMerge;
+    private final DistributionSummary articlesAfterMerge;
 
-    @Autowired
-    public NewsAggregatorService(NewsAPIService newsAPIService, GNewsService gNewsService) {
-        this.newsAPIService = newsAPIService;
-        this.gNewsService = gNewsService;
-    }
+    //when disabled the providers are called one after the other without deadlines
+    @Value("${news.aggregator.concurrent:true}")
+    private boolean concurrentFanOut;
 
-    //search news by sentiment only negative and positive are supported
-    public List<ArticleDTO> searchNewsBySentiment(String sentiment, String language) {
-        List<ArticleDTO> newsFromNewsAPI = new ArrayList<>();
-        List<ArticleDTO> newsFromGNews = new ArrayList<>();
-
-        if(language.equals("en")){
-            try {
-                newsFromNewsAPI = newsAPIService.getNews("latest", language);
-            } catch (Exception e) {
-                logger.error("Error fetching news from NewsAPI: {}", e.getMessage(), e);
-            }
-        }
+    //with virtual threads and a blocking controller the providers are forked onto virtual threads and joined in place
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
-        try {
-            newsFromGNews = gNewsService.getNews("latest", language);
-        } catch (Exception e) {
-            logger.error("Error fetching news from GNews: {}", e.getMessage(), e);
-        }
+    @Value("${news.execution.mode:blocking}")
+    private String executionMode;
 
-        Map<String, ArticleDTO> articleMap = new LinkedHashMap<>();
+    //fingerprints that differ in at most this many bits are treated as the same story
+    @Value("${news.dedup.max-distance:3}")
+    private int duplicateMaxDistance;
 
-        for (ArticleDTO article : newsFromNewsAPI) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
-        }
+    //the newest stories kept per request, also the depth cursor pagination can reach
+    @Value("${news.merge.max-results:1000}")
+    private int maxResults;
+
+    //when disabled /search always goes to the providers
+    @Value("${news.index.enabled:true}")
+    private boolean localSearch;
 
-        for (ArticleDTO article : newsFromGNews) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
+    //fewer local matches than this and /search asks the providers
+    @Value("${news.index.min-results:10}")
+    private int localSearchMinResults;
+
+    @Autowired
+    public NewsAggregatorService(List<NewsProvider> providers,
+                                 @Qualifier("providerExecutor") ExecutorService providerExecutor,
+                                 ArticleStoreService articleStore, HeadlineSnapshot headlineSnapshot,
+                                 ArticleIndex articleIndex, MeterRegistry meterRegistry) {
+        this.providers = providers;
+        for (NewsProvider provider : providers) {
+            if (providersByName.put(provider.getName(), provider) != null) {
+                throw new IllegalStateException("Two news providers are named " + provider.getName());
             }
         }
+        logger.info("News providers: {}", providersByName.keySet());
+        this.providerExecutor = providerExecutor;
+        this.blockingScheduler = Schedulers.fromExecutorService(providerExecutor, "provider");
+        this.articleStore = articleStore;
+        this.headlineSnapshot = headlineSnapshot;
+        this.articleIndex = articleIndex;
+        this.mergeTimer = Timer.builder("news.merge")
+                .description("Merging and collapsing the provider results of one request")
+                .register(meterRegistry);
+        this.articlesBeforeMerge = DistributionSummary.builder("news.merge.articles")
+                .description("Articles per request before and after near-duplicates are collapsed")
+                .tag("stage", "before")
+                .register(meterRegistry);
+        this.articlesAfterMerge = DistributionSummary.builder("news.merge.articles")
+                .description("Articles per request before and after near-duplicates are collapsed")
+                .tag("stage", "after")
+                .register(meterRegistry);
+    }
+
+    //search news by sentiment only negative and positive are supported
+    public AggregatedNews searchNewsBySentiment(String sentiment, String language) {
+        return searchNewsBySentimentAsync(sentiment, language).block();
+    }
 
-        List<ArticleDTO> filteredArticles = new ArrayList<>();
-        for (ArticleDTO article : articleMap.values()) {
-            if (article.getSentiment() != null && article.getSentiment().equalsIgnoreCase(sentiment)) {
-                filteredArticles.add(article);
+    public Mono<AggregatedNews> searchNewsBySentimentAsync(String sentiment, String language) {
+        return fromStore(() -> articleStore.findFreshBySentiment(sentiment, language)).flatMap(stored -> {
+            if (stored.isPresent()) {
+                return Mono.just(new AggregatedNews(stored.get(), new ArrayList<>()));
             }
-        }
 
-        return filteredArticles;
+            Map<String, Supplier<Mono<List<ArticleDTO>>>> calls = callsTo(provider -> provider.supports(language),
+                    provider -> provider.getNewsAsync("latest", language));
+
+            return mergeFromProviders(calls).map(merged -> {
+                List<ArticleDTO> filteredArticles = new ArrayList<>();
+                for (ArticleDTO article : merged.getArticles()) {
+                    if (article.getSentiment() != null && article.getSentiment().equalsIgnoreCase(sentiment)) {
+                        filteredArticles.add(article);
+                    }
+                }
+                return new AggregatedNews(filteredArticles, merged.getMissingProviders());
+            });
+        });
     }
 
 
-    //get sources from both APIs
+    //get sources from every provider that lists them
     public List<String> getSources(String language){
-        List<String> sources = new ArrayList<>();
-        if(language.equals("en")){
-            try {
-                sources.addAll(newsAPIService.getSources(language));
-            } catch (Exception e) {
-                logger.error("Error fetching sources from NewsAPI: {}", e.getMessage(), e);
-            }
-        }
+        return getSourcesAsync(language).block();
+    }
 
-        try {
-            sources.addAll(gNewsService.getSources(language));
-        } catch (Exception e) {
-            logger.error("Error fetching sources from GNews: {}", e.getMessage(), e);
-        }
+    public Mono<List<String>> getSourcesAsync(String language){
+        Map<String, Supplier<Mono<List<String>>>> calls = callsTo(provider -> provider.supports(Capability.SOURCES, language),
+                provider -> provider.getSourcesAsync(language));
 
-        return sources.stream().distinct().collect(Collectors.toList());
+        return fetchFromProviders(calls).map(results -> results.lists().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toList()));
     }
 
-    //get top headlines
+    //get top headlines, served from the ingestion snapshot when it is fresh
 
-    public List<ArticleDTO> getTopHeadlines(String language) {
-        List<ArticleDTO> topHeadlines = new ArrayList<>();
-        // there is no top headlines language wise in news api.
-        try {
-            topHeadlines.addAll(gNewsService.getTopHeadlines(language));
-        } catch (Exception e) {
-            logger.error("Error fetching top headlines from GNews: {}", e.getMessage(), e);
-        }
-
-        return topHeadlines.stream().distinct().collect(Collectors.toList());
+    public AggregatedNews getTopHeadlines(String language) {
+        return getTopHeadlinesAsync(language).block();
     }
 
-    //search on the basis of query
-    public List<ArticleDTO> searchNews(String query, String language) {
-        List<ArticleDTO> newsFromNewsAPI = new ArrayList<>();
-        List<ArticleDTO> newsFromGNews = new ArrayList<>();
-
-        try {
-            newsFromNewsAPI = newsAPIService.getNews(query, language);
-        } catch (Exception e) {
-            logger.error("Error fetching news from NewsAPI: {}", e.getMessage(), e);
+    public Mono<AggregatedNews> getTopHeadlinesAsync(String language) {
+        Optional<List<ArticleDTO>> snapshot = headlineSnapshot.get(language, null);
+        if (snapshot.isPresent()) {
+            return Mono.just(new AggregatedNews(snapshot.get(), new ArrayList<>()));
         }
+        return fetchTopHeadlinesAsync(language);
+    }
 
-        try {
-            newsFromGNews = gNewsService.getNews(query, language);
-        } catch (Exception e) {
-            logger.error("Error fetching news from GNews: {}", e.getMessage(), e);
-        }
+    //top headlines straight from the providers, also used by the ingestion pipeline
+    public AggregatedNews fetchTopHeadlines(String language) {
+        return fetchTopHeadlinesAsync(language).block();
+    }
 
-        Map<String, ArticleDTO> articleMap = new LinkedHashMap<>();
+    private Mono<AggregatedNews> fetchTopHeadlinesAsync(String language) {
+        return mergeFromProviders(callsTo(provider -> provider.supports(Capability.TOP_HEADLINES, language),
+                provider -> provider.getTopHeadlinesAsync(language)));
+    }
 
-        for (ArticleDTO article : newsFromNewsAPI) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
-        }
+    //search on the basis of query, answered from the local index when it finds enough matches
+    public AggregatedNews searchNews(String query, String language) {
+        return searchNewsAsync(query, language).block();
+    }
 
-        for (ArticleDTO article : newsFromGNews) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
+    public Mono<AggregatedNews> searchNewsAsync(String query, String language) {
+        if (localSearch) {
+            List<ArticleDTO> local = articleIndex.search(query, language);
+            if (local.size() >= localSearchMinResults) {
+                return Mono.just(new AggregatedNews(local, new ArrayList<>()));
             }
         }
 
-        List<ArticleDTO> mergedArticles = new ArrayList<>(articleMap.values());
+        Map<String, Supplier<Mono<List<ArticleDTO>>>> calls = callsTo(provider -> provider.supports(language),
+                provider -> provider.getNewsAsync(query, language));
 
-        mergedArticles.sort((a1, a2) -> {
-            LocalDateTime date1 = a1.getPublishedAt() != null ? a1.getPublishedAt() : LocalDateTime.MIN;
-            LocalDateTime date2 = a2.getPublishedAt() != null ? a2.getPublishedAt() : LocalDateTime.MIN;
-            return date2.compareTo(date1);
-        });
-        return mergedArticles;
+        return mergeFromProviders(calls);
     }
 
     //search on the basis of source
 
-    public List<ArticleDTO> searchNewsBySource(String source, String language) {
-        List<ArticleDTO> newsFromNewsAPI = new ArrayList<>();
-        List<ArticleDTO> newsFromGNews = new ArrayList<>();
-
-        if (language.equals("en")) {
-            try {
-                newsFromNewsAPI = newsAPIService.getNewsBySource(source, language);
-            } catch (Exception e) {
-                logger.error("Error fetching news from NewsAPI: {}", e.getMessage(), e);
-            }
-        }
-
-        try {
-            newsFromGNews = gNewsService.getNewsBySource(source, language);
-        } catch (Exception e) {
-            logger.error("Error fetching news from GNews: {}", e.getMessage(), e);
-        }
-
-        Map<String, ArticleDTO> articleMap = new LinkedHashMap<>();
+    public AggregatedNews searchNewsBySource(String source, String language) {
+        return searchNewsBySourceAsync(source, language).block();
+    }
 
-        for (ArticleDTO article : newsFromNewsAPI) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
+    public Mono<AggregatedNews> searchNewsBySourceAsync(String source, String language) {
+        return fromStore(() -> articleStore.findFreshBySource(source, language)).flatMap(stored -> {
+            if (stored.isPresent()) {
+                return Mono.just(new AggregatedNews(stored.get(), new ArrayList<>()));
             }
-        }
 
-        for (ArticleDTO article : newsFromGNews) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
-        }
+            return mergeFromProviders(callsTo(provider -> provider.supports(Capability.SOURCES, language),
+                    provider -> provider.getNewsBySourceAsync(source, language)));
+        });
+    }
 
-        return new ArrayList<>(articleMap.values());
 
+    //get categories from every provider that has them
+    public List<String> getCategories(String language) {
+        return getCategoriesAsync(language).block();
     }
 
+    public Mono<List<String>> getCategoriesAsync(String language) {
+        Map<String, Supplier<Mono<List<String>>>> calls = callsTo(provider -> provider.supports(Capability.CATEGORIES, language),
+                provider -> provider.getCategoriesAsync(language));
 
-    //get categories from both APIs
-    public List<String> getCategories(String language) {
-        List<String> categories = new ArrayList<>();
-        if (language.equals("en")) {
-            try {
-                categories.addAll(newsAPIService.getCategories(language));
-            } catch (Exception e) {
-                logger.error("Error fetching categories from NewsAPI: {}", e.getMessage(), e);
-            }
-        }
-        try {
-            categories.addAll(gNewsService.getCategories(language));
-        } catch (Exception e) {
-            logger.error("Error fetching categories from GNews: {}", e.getMessage(), e);
-        }
-        return categories.stream().distinct().collect(Collectors.toList());
+        return fetchFromProviders(calls).map(results -> results.lists().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toList()));
     }
 
     //search on the basis of category
-    public List<ArticleDTO> searchNewsByCategory(String category, String language) {
-        List<ArticleDTO> newsFromNewsAPI = new ArrayList<>();
-        List<ArticleDTO> newsFromGNews = new ArrayList<>();
-
-        if (language.equals("en")) {
-            try {
-                newsFromNewsAPI = newsAPIService.getNewsByCategory(category, language);
-            } catch (Exception e) {
-                logger.error("Error fetching news by category from NewsAPI: {}", e.getMessage(), e);
-            }
-        }
+    public AggregatedNews searchNewsByCategory(String category, String language) {
+        return searchNewsByCategoryAsync(category, language).block();
+    }
 
-        try {
-            newsFromGNews = gNewsService.getNewsByCategory(category, language);
-        } catch (Exception e) {
-            logger.error("Error fetching news by category from GNews: {}", e.getMessage(), e);
+    public Mono<AggregatedNews> searchNewsByCategoryAsync(String category, String language) {
+        Optional<List<ArticleDTO>> snapshot = headlineSnapshot.get(language, category);
+        if (snapshot.isPresent()) {
+            return Mono.just(new AggregatedNews(snapshot.get(), new ArrayList<>()));
         }
+        return fromStore(() -> articleStore.findFreshByCategory(category, language)).flatMap(stored -> stored.isPresent()
+                ? Mono.just(new AggregatedNews(stored.get(), new ArrayList<>()))
+                : fetchNewsByCategoryAsync(category, language));
+    }
 
-        Map<String, ArticleDTO> articleMap = new LinkedHashMap<>();
+    //category news straight from the providers, also used by the ingestion pipeline
+    public AggregatedNews fetchNewsByCategory(String category, String language) {
+        return fetchNewsByCategoryAsync(category, language).block();
+    }
 
-        for (ArticleDTO article : newsFromNewsAPI) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
-        }
+    private Mono<AggregatedNews> fetchNewsByCategoryAsync(String category, String language) {
+        return mergeFromProviders(callsTo(provider -> provider.supports(Capability.CATEGORIES, language),
+                provider -> provider.getNewsByCategoryAsync(category, language)));
+    }
 
-        for (ArticleDTO article : newsFromGNews) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
-        }
+    //combined search
+    public AggregatedNews searchCombined(String query, String source, String category, String sentiment, String language) {
+        return searchCombinedAsync(query, source, category, sentiment, language).block();
+    }
 
-        return new ArrayList<>(articleMap.values());
+    public Mono<AggregatedNews> searchCombinedAsync(String query, String source, String category, String sentiment, String language) {
+        return mergeFromProviders(combinedCalls(query, source, category, sentiment, language));
     }
 
+    //combined search that emits each provider's articles as soon as they are classified, never sending a story twice
+    public Flux<ArticleDTO> streamCombined(String query, String source, String category, String sentiment, String language) {
+        RequestPriority priority = RequestPriority.current();
+        List<Mono<List<ArticleDTO>>> providerResults = new ArrayList<>();
+        combinedCalls(query, source, category, sentiment, language).forEach((provider, call) ->
+                providerResults.add(callProvider(provider, call, priority).flatMap(arrival -> Mono.justOrEmpty(arrival.getValue()))));
+
+        // merge serializes the provider signals, so the collapser is never used by two threads at once
+        DuplicateCollapser collapser = new DuplicateCollapser(duplicateMaxDistance);
+        AtomicInteger fetched = new AtomicInteger();
+        Flux<List<ArticleDTO>> arrivals = concurrentFanOut ? Flux.merge(providerResults) : Flux.concat(providerResults);
+        return arrivals
+                .flatMapIterable(articles -> {
+                    fetched.addAndGet(articles.size());
+                    return articles;
+                })
+                .filter(collapser::add)
+                .doOnComplete(() -> {
+                    List<ArticleDTO> merged = collapser.result();
+                    articlesBeforeMerge.record(fetched.get());
+                    articlesAfterMerge.record(merged.size());
+                    retain(merged);
+                });
+    }
 
+    //only providers that can honour every filter given are asked, a provider that would drop one is left out
+    private Map<String, Supplier<Mono<List<ArticleDTO>>>> combinedCalls(String query, String source, String category, String sentiment, String language) {
+        boolean hasQuery = query != null && !query.isEmpty();
+        boolean hasCategory = category != null && !category.isEmpty();
+        boolean hasSource = source != null && !source.isEmpty();
+        String queryToUse = hasQuery ? query : "latest";
+
+        return callsTo(provider -> provider.supports(language)
+                        && (!hasCategory || provider.supports(Capability.CATEGORIES, language))
+                        && (!hasCategory || !hasQuery || provider.supports(Capability.QUERY_IN_HEADLINES, language))
+                        && (!hasSource || provider.supports(Capability.SOURCES, language)),
+                provider -> provider.getCombinedNewsAsync(queryToUse, source, category, sentiment, language));
+    }
 
-    //to generate the unique key for each article so that none of the articles are repeated
-    private String generateKey(ArticleDTO article) {
-        if (article.getTitle() == null) {
-            logger.warn("Article title is null, skipping key generation.");
-            return null;
+    //one call per capable provider, in provider order, so adding a provider adds coverage without adding a round trip
+    private <T> Map<String, Supplier<Mono<List<T>>>> callsTo(Predicate<NewsProvider> capable, Function<NewsProvider, Mono<List<T>>> call) {
+        Map<String, Supplier<Mono<List<T>>>> calls = new LinkedHashMap<>();
+        for (NewsProvider provider : providers) {
+            if (capable.test(provider)) {
+                calls.put(provider.getName(), () -> call.apply(provider));
+            }
         }
-        return article.getTitle().trim().toLowerCase() + "_" +
-                (article.getSourceName() != null && !article.getSourceName().trim().isEmpty()
-                        ? article.getSourceName().trim().toLowerCase() : "") + "_" +
-                (article.getUrl() != null ? article.getUrl().trim().toLowerCase() : "");
+        return calls;
     }
 
-    //combined search
-    public List<ArticleDTO> searchCombined(String query, String source, String category, String sentiment, String language) {
-        List<ArticleDTO> newsFromNewsAPI = new ArrayList<>();
-        List<ArticleDTO> newsFromGNews = new ArrayList<>();
+    //fetches, merges and retains the articles of every provider
+    private Mono<AggregatedNews> mergeFromProviders(Map<String, Supplier<Mono<List<ArticleDTO>>>> calls) {
+        return fetchFromProviders(calls).map(results -> {
+            List<ArticleDTO> mergedArticles = mergeArticles(results.lists());
+            retain(mergedArticles);
+            return new AggregatedNews(mergedArticles, results.missingProviders);
+        });
+    }
 
-        String queryToUse = (query == null || query.isEmpty()) ? "latest" : query;
+    //calls every provider, all at once when fan-out is enabled, and keeps whatever arrived before each provider's deadline
+    private <T> Mono<ProviderResults<T>> fetchFromProviders(Map<String, Supplier<Mono<List<T>>>> calls) {
+        RequestPriority priority = RequestPriority.current();
+        if (virtualThreads && concurrentFanOut && !"reactive".equals(executionMode)) {
+            return Mono.fromCallable(() -> forkJoin(calls, priority));
+        }
+        Flux<Map.Entry<String, Optional<List<T>>>> arrivals = concurrentFanOut
+                ? Flux.fromIterable(calls.entrySet()).flatMapSequential(call -> callProvider(call.getKey(), call.getValue(), priority))
+                : Flux.fromIterable(calls.entrySet()).concatMap(call -> callProvider(call.getKey(), call.getValue(), priority));
+
+        return arrivals.collectList().map(entries -> {
+            ProviderResults<T> results = new ProviderResults<>();
+            for (Map.Entry<String, Optional<List<T>>> entry : entries) {
+                if (entry.getValue().isPresent()) {
+                    results.byProvider.put(entry.getKey(), entry.getValue().get());
+                } else {
+                    results.missingProviders.add(entry.getKey());
+                }
+            }
+            return results;
+        });
+    }
 
-        if ("en".equalsIgnoreCase(language) && (category == null || category.isEmpty())) {
-            try {
-                newsFromNewsAPI = newsAPIService.getCombinedNews(queryToUse, source, category, sentiment, language);
-            } catch (Exception e) {
-                logger.error("Error fetching news from NewsAPI: {}", e.getMessage(), e);
+    //imperative fan-out: every provider blocks on its own virtual thread while the request thread joins them in order
+    private <T> ProviderResults<T> forkJoin(Map<String, Supplier<Mono<List<T>>>> calls, RequestPriority priority) {
+        ProviderResults<T> results = new ProviderResults<>();
+        try (FanOut<List<T>> scope = new FanOut<>(providerExecutor)) {
+            calls.forEach((provider, call) -> scope.fork(provider, () -> RequestPriority.runAs(priority, call).block()));
+
+            for (String provider : calls.keySet()) {
+                long timeoutMs = timeoutFor(provider);
+                try {
+                    List<T> result = scope.join(provider, timeoutMs);
+                    if (result != null) {
+                        results.byProvider.put(provider, result);
+                    } else {
+                        results.missingProviders.add(provider);
+                    }
+                } catch (TimeoutException e) {
+                    logger.warn("{} did not respond within {} ms, returning partial results", provider, timeoutMs);
+                    results.missingProviders.add(provider);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.missingProviders.add(provider);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof ProviderUnavailableException) {
+                        logger.warn("Skipping {}: {}", provider, e.getCause().getMessage());
+                    } else {
+                        logger.error("Error fetching news from {}: {}", provider, e.getCause().getMessage(), e.getCause());
+                    }
+                    results.missingProviders.add(provider);
+                }
             }
         }
+        return results;
+    }
 
-        try {
-            newsFromGNews = gNewsService.getCombinedNews(queryToUse, language, category, sentiment, source);
-        } catch (Exception e) {
-            logger.error("Error fetching news from GNews: {}", e.getMessage(), e);
+    //an empty value marks a provider that failed or missed its deadline
+    private <T> Mono<Map.Entry<String, Optional<List<T>>>> callProvider(String provider, Supplier<Mono<List<T>>> call, RequestPriority priority) {
+        long timeoutMs = timeoutFor(provider);
+        Mono<List<T>> result = Mono.defer(() -> RequestPriority.runAs(priority, call));
+        if (concurrentFanOut) {
+            result = result.timeout(Duration.ofMillis(timeoutMs));
         }
+        return result
+                .map(Optional::of)
+                .onErrorResume(TimeoutException.class, e -> {
+                    logger.warn("{} did not respond within {} ms, returning partial results", provider, timeoutMs);
+                    return Mono.just(Optional.<List<T>>empty());
+                })
+                .onErrorResume(ProviderUnavailableException.class, e -> {
+                    logger.warn("Skipping {}: {}", provider, e.getMessage());
+                    return Mono.just(Optional.<List<T>>empty());
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error fetching news from {}: {}", provider, e.getMessage(), e);
+                    return Mono.just(Optional.<List<T>>empty());
+                })
+                .defaultIfEmpty(Optional.empty())
+                .map(value -> Map.entry(provider, value));
+    }
 
-        Map<String, ArticleDTO> articleMap = new LinkedHashMap<>();
-
-        for (ArticleDTO article : newsFromNewsAPI) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
-            }
+    //store reads are blocking mongo queries, so they run on the provider executor instead of the caller's thread
+    private Mono<Optional<List<ArticleDTO>>> fromStore(Supplier<Optional<List<ArticleDTO>>> read) {
+        if (!articleStore.isEnabled()) {
+            return Mono.just(Optional.<List<ArticleDTO>>empty());
         }
+        return Mono.fromCallable(read::get).subscribeOn(blockingScheduler);
+    }
+
+    //keeps fetched articles around for later reads from the store and the local index
+    private void retain(List<ArticleDTO> articles) {
+        articleStore.saveAsync(articles);
+        articleIndex.addAll(articles);
+    }
+
+    private long timeoutFor(String provider) {
+        return providersByName.get(provider).getTimeoutMs();
+    }
 
-        for (ArticleDTO article : newsFromGNews) {
-            String key = generateKey(article);
-            if (key != null) {
-                articleMap.putIfAbsent(key, article);
+    //merges the provider results newest first, near-duplicates collapse into the newest copy of the story
+    private List<ArticleDTO> mergeArticles(Collection<List<ArticleDTO>> providerResults) {
+        return mergeTimer.record(() -> {
+            int fetched = 0;
+            for (List<ArticleDTO> articles : providerResults) {
+                fetched += articles.size();
             }
-        }
+            List<ArticleDTO> merged = NewestFirstMerge.merge(providerResults, duplicateMaxDistance, maxResults);
+            articlesBeforeMerge.record(fetched);
+            articlesAfterMerge.record(merged.size());
+            return merged;
+        });
+    }
 
-        return new ArrayList<>(articleMap.values());
+    //what each provider returned, in call order, and which providers returned nothing in time
+    private static final class ProviderResults<T> {
+        private final Map<String, List<T>> byProvider = new LinkedHashMap<>();
+        private final List<String> missingProviders = new ArrayList<>();
+
+        private Collection<List<T>> lists() {
+            return byProvider.values();
+        }
     }
 
 
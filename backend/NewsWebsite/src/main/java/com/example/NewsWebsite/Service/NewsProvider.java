@@ -0,0 +1,72 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+//a news feed the aggregator fans out to; every provider bean is discovered, ordered by @Order, and called only
+//for the requests its languages and capabilities cover
+public interface NewsProvider {
+
+    enum Capability {
+        //top headlines per language
+        TOP_HEADLINES,
+        //a category list and news per category
+        CATEGORIES,
+        //a source list and news per source
+        SOURCES,
+        //a search term can be combined with a category
+        QUERY_IN_HEADLINES
+    }
+
+    //the name reported in X-Missing-Providers
+    String getName();
+
+    //empty means every language
+    Set<String> getLanguages();
+
+    Set<Capability> getCapabilities();
+
+    //deadline of one call when the providers are called concurrently
+    long getTimeoutMs();
+
+    default boolean supports(String language) {
+        return getLanguages().isEmpty() || getLanguages().contains(language);
+    }
+
+    default boolean supports(Capability capability, String language) {
+        return supports(language) && getCapabilities().contains(capability);
+    }
+
+    //every provider answers a plain query search
+    Mono<List<ArticleDTO>> getNewsAsync(String query, String language);
+
+    //query, category, source and sentiment filters in one call, the aggregator only passes filters the provider supports
+    Mono<List<ArticleDTO>> getCombinedNewsAsync(String query, String source, String category, String sentiment, String language);
+
+    default Mono<List<ArticleDTO>> getTopHeadlinesAsync(String language) {
+        return unsupported(Capability.TOP_HEADLINES);
+    }
+
+    default Mono<List<ArticleDTO>> getNewsByCategoryAsync(String category, String language) {
+        return unsupported(Capability.CATEGORIES);
+    }
+
+    default Mono<List<String>> getCategoriesAsync(String language) {
+        return unsupported(Capability.CATEGORIES);
+    }
+
+    default Mono<List<ArticleDTO>> getNewsBySourceAsync(String source, String language) {
+        return unsupported(Capability.SOURCES);
+    }
+
+    default Mono<List<String>> getSourcesAsync(String language) {
+        return unsupported(Capability.SOURCES);
+    }
+
+    private <T> Mono<T> unsupported(Capability capability) {
+        return Mono.error(new UnsupportedOperationException(getName() + " does not support " + capability));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.NewsWebsite.Service;
+
+import java.util.function.Supplier;
+
+//whether the current provider work serves a waiting user or runs in the background (ingestion, refreshes)
+public enum RequestPriority {
+
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T background(Supplier<T> work) {
+        return runAs(BACKGROUND, work);
+    }
+
+    public static <T> T runAs(RequestPriority priority, Supplier<T> work) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
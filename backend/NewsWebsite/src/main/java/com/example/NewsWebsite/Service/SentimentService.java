@@ -1,38 +1,146 @@
 package com.example.NewsWebsite.Service;
 
+import com.example.NewsWebsite.Cache.SentimentCache;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Sentiment.SentimentEngine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+//classifies article sentiment with the engine named by news.sentiment.engine, the fallback engine labels
+//whatever the main one could not
 @Service
 public class SentimentService {
-    private final WebClient webClient;
-    public SentimentService(@Value("${sentiment.api.url}") String sentimentApiUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(sentimentApiUrl)
-                .build();
+
+    private static final Logger log = LoggerFactory.getLogger(SentimentService.class);
+
+    private final SentimentEngine engine;
+    private final SentimentEngine fallback;
+    private final SentimentCache sentimentCache;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    public SentimentService(List<SentimentEngine> engines, @Value("${news.sentiment.engine:remote}") String engineName,
+                            @Value("${news.sentiment.fallback:}") String fallbackName, SentimentCache sentimentCache,
+                            MeterRegistry meterRegistry) {
+        this.engine = engineNamed(engines, engineName);
+        this.fallback = fallbackName.isBlank() ? null : engineNamed(engines, fallbackName);
+        this.sentimentCache = sentimentCache;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("news.sentiment.batch.size")
+                .description("Texts sent to the sentiment engine per call")
+                .register(meterRegistry);
+        log.info("Sentiment engine: {}, fallback: {}", engine.getName(), fallback != null ? fallback.getName() : "none");
     }
+
     public String analyzeSentiment(String text){
-        try{
-            return webClient.post()
-                    .uri("/analyze")
-                    .bodyValue(Map.of("text", text))
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .map(response -> response.containsKey("sentiment") ? (String) response.get("sentiment") : null)
-                    .block();
-        } catch(WebClientResponseException e) {
-            e.printStackTrace();
-            return null;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        return analyzeBatch(List.of(text)).get(0);
+    }
+
+    //classifies a whole list in one call, only texts missing from the cache are sent to the engine
+    public List<String> analyzeBatch(List<String> texts){
+        return analyzeBatchAsync(texts).block();
+    }
+
+    //non-blocking variant of analyzeBatch
+    public Mono<List<String>> analyzeBatchAsync(List<String> texts){
+        List<String> sentiments = new ArrayList<>(texts.size());
+        Map<String, List<Integer>> uncached = new LinkedHashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String cached = sentimentCache.get(texts.get(i));
+            sentiments.add(cached);
+            if (cached == null) {
+                uncached.computeIfAbsent(texts.get(i), text -> new ArrayList<>()).add(i);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return Mono.just(sentiments);
+        }
+
+        List<String> uncachedTexts = new ArrayList<>(uncached.keySet());
+        return classifyWith(engine, uncachedTexts).flatMap(analyzed -> {
+            List<String> unanswered = new ArrayList<>();
+            for (int i = 0; i < uncachedTexts.size(); i++) {
+                String sentiment = analyzed.get(i);
+                if (sentiment == null) {
+                    unanswered.add(uncachedTexts.get(i));
+                    continue;
+                }
+                sentimentCache.put(uncachedTexts.get(i), sentiment);
+                for (int index : uncached.get(uncachedTexts.get(i))) {
+                    sentiments.set(index, sentiment);
+                }
+            }
+            if (unanswered.isEmpty() || fallback == null) {
+                return Mono.just(sentiments);
+            }
+            // fallback labels are not cached, the main engine answers again once it is back
+            return classifyWith(fallback, unanswered).map(labels -> {
+                for (int i = 0; i < unanswered.size(); i++) {
+                    for (int index : uncached.get(unanswered.get(i))) {
+                        sentiments.set(index, labels.get(i));
+                    }
+                }
+                return sentiments;
+            });
+        });
+    }
+
+    private Mono<List<String>> classifyWith(SentimentEngine sentimentEngine, List<String> texts){
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            batchSize.record(texts.size());
+            return sentimentEngine.classify(texts)
+                    .doOnNext(labels -> sample.stop(timer(sentimentEngine.getName(), labels.stream().anyMatch(Objects::isNull) ? "failed" : "success")));
+        });
+    }
+
+    //latency per engine and outcome, failed when some texts got no label
+    private Timer timer(String engineName, String outcome) {
+        return Timer.builder("news.sentiment.requests")
+                .description("Calls to the sentiment engine")
+                .tag("engine", engineName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static SentimentEngine engineNamed(List<SentimentEngine> engines, String name) {
+        for (SentimentEngine candidate : engines) {
+            if (candidate.getName().equalsIgnoreCase(name.trim())) {
+                return candidate;
+            }
         }
+        throw new IllegalStateException("Unknown sentiment engine " + name + ", available: "
+                + engines.stream().map(SentimentEngine::getName).toList());
+    }
+
+    //sets the sentiment of every article from its title and description using a single batch call
+    public void classifyArticles(List<ArticleDTO> articles){
+        classifyArticlesAsync(articles).block();
     }
 
+    //non-blocking variant of classifyArticles, emits the same list once every article has its sentiment
+    public Mono<List<ArticleDTO>> classifyArticlesAsync(List<ArticleDTO> articles){
+        List<String> texts = new ArrayList<>(articles.size());
+        for (ArticleDTO article : articles) {
+            texts.add(article.getTitle() + " " + article.getDescription());
+        }
+        return analyzeBatchAsync(texts).map(sentiments -> {
+            for (int i = 0; i < articles.size(); i++) {
+                articles.get(i).setSentiment(sentiments.get(i));
+            }
+            return articles;
+        });
+    }
 
 }
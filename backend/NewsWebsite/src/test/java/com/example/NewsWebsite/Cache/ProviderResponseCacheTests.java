@@ -0,0 +1,180 @@
+package com.example.NewsWebsite.Cache;
+
+import com.example.NewsWebsite.Service.RequestPriority;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderResponseCacheTests {
+
+    private final AtomicLong millis = new AtomicLong();
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesFreshEntriesWithoutCallingTheProvider() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+
+        assertEquals(List.of("first"), cache.getAsync("gnews-search", loader("first"), "storm").block());
+        millis.addAndGet(999);
+        assertEquals(List.of("first"), cache.getAsync("gnews-search", loader("second"), " Storm ").block());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void servesStaleEntriesWhileExactlyOneRefreshRuns() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        cache.getAsync("gnews-search", loader("first"), "storm").block();
+
+        millis.addAndGet(1000);
+        assertEquals(List.of("first"), cache.getAsync("gnews-search", loader("second"), "storm").block());
+        assertEquals(List.of("first"), cache.getAsync("gnews-search", loader("second"), "storm").block());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.forEach(Runnable::run);
+        assertEquals(List.of("second"), cache.getAsync("gnews-search", loader("third"), "storm").block());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getRefreshes());
+        assertEquals(2, cache.getStaleHits());
+    }
+
+    @Test
+    void reloadsEntriesPastTheirStaleWindow() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        cache.getAsync("gnews-search", loader("first"), "storm").block();
+
+        millis.addAndGet(6000);
+        assertEquals(List.of("second"), cache.getAsync("gnews-search", loader("second"), "storm").block());
+
+        assertTrue(refreshTasks.isEmpty());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void cachesEmptyResults() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+
+        assertEquals(List.of(), cache.getAsync("gnews-search", loader(), "nothing").block());
+        assertEquals(List.of(), cache.getAsync("gnews-search", loader("late"), "nothing").block());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void neverCachesAFailure() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        Supplier<Mono<List<String>>> failing = () -> {
+            loads.incrementAndGet();
+            return Mono.error(new IllegalStateException("upstream answered 500"));
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.getAsync("gnews-search", failing, "storm").block());
+        assertEquals(List.of("recovered"), cache.getAsync("gnews-search", loader("recovered"), "storm").block());
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void servesThePreviousAnswerWhenAReloadFails() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        cache.getAsync("gnews-search", loader("first"), "storm").block();
+
+        millis.addAndGet(6000);
+        List<String> answer = cache.getAsync("gnews-search",
+                () -> Mono.<List<String>>error(new IllegalStateException("upstream answered 500")), "storm").block();
+
+        assertEquals(List.of("first"), answer);
+    }
+
+    @Test
+    void backgroundWorkBypassesFreshEntries() {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        cache.getAsync("gnews-top-headlines", loader("first"), "en").block();
+
+        List<String> refreshed = RequestPriority.background(() -> cache.getAsync("gnews-top-headlines", loader("second"), "en").block());
+
+        assertEquals(List.of("second"), refreshed);
+        assertEquals(List.of("second"), cache.getAsync("gnews-top-headlines", loader("third"), "en").block());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        ProviderResponseCache cache = cache(1000, 5000, 1 << 20);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Mono<List<String>>> slow = () -> {
+            loads.incrementAndGet();
+            return Mono.fromCallable(() -> {
+                entered.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of("shared");
+            });
+        };
+        AtomicReference<List<String>> firstAnswer = new AtomicReference<>();
+        AtomicReference<List<String>> secondAnswer = new AtomicReference<>();
+
+        Thread first = new Thread(() -> firstAnswer.set(cache.getAsync("gnews-search", slow, "storm").block()));
+        first.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> secondAnswer.set(cache.getAsync("gnews-search", slow, "storm").block()));
+        second.start();
+        // the second caller parks on the load that is already running
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (second.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertEquals(List.of("shared"), firstAnswer.get());
+        assertEquals(List.of("shared"), secondAnswer.get());
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryAtTheByteLimit() {
+        // each single letter answer is estimated at 105 bytes, so two fit
+        ProviderResponseCache cache = cache(60_000, 0, 250);
+        cache.getAsync("gnews-search", loader("a"), "first").block();
+        cache.getAsync("gnews-search", loader("b"), "second").block();
+        cache.getAsync("gnews-search", loader("x"), "first").block();
+
+        cache.getAsync("gnews-search", loader("c"), "third").block();
+
+        assertEquals(2, cache.size());
+        assertEquals(210, cache.getTotalBytes());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(List.of("a"), cache.getAsync("gnews-search", loader("x"), "first").block());
+        assertEquals(List.of("y"), cache.getAsync("gnews-search", loader("y"), "second").block());
+    }
+
+    private ProviderResponseCache cache(long ttlMillis, long maxStaleMillis, long maxBytes) {
+        return new ProviderResponseCache(new MockEnvironment(), refreshTasks::add, ttlMillis, maxStaleMillis, maxBytes, millis::get);
+    }
+
+    private Supplier<Mono<List<String>>> loader(String... answer) {
+        return () -> {
+            loads.incrementAndGet();
+            return Mono.just(List.of(answer));
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.NewsWebsite.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SentimentCacheTests {
+
+    private final AtomicLong millis = new AtomicLong();
+
+    @Test
+    void matchesTextsThatDifferOnlyInCaseAndWhitespace() {
+        SentimentCache cache = new SentimentCache(10, 60_000, millis::get);
+        cache.put("Markets  rally\tafter the vote", "positive");
+
+        assertEquals("positive", cache.get("markets rally\tAFTER the vote "));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void expiresEntriesAfterTheTtl() {
+        SentimentCache cache = new SentimentCache(10, 1000, millis::get);
+        cache.put("Markets rally", "positive");
+
+        millis.addAndGet(1000);
+        assertEquals("positive", cache.get("Markets rally"));
+
+        millis.addAndGet(1);
+        assertNull(cache.get("Markets rally"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        SentimentCache cache = new SentimentCache(2, 60_000, millis::get);
+        cache.put("first", "positive");
+        cache.put("second", "negative");
+        // reading first makes second the least recently used
+        cache.get("first");
+        cache.put("third", "positive");
+
+        assertEquals(2, cache.size());
+        assertEquals("positive", cache.get("first"));
+        assertNull(cache.get("second"));
+        assertEquals("positive", cache.get("third"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void ignoresMissingAnswers() {
+        SentimentCache cache = new SentimentCache(10, 60_000, millis::get);
+        cache.put("Markets rally", null);
+
+        assertNull(cache.get("Markets rally"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMisses());
+    }
+}
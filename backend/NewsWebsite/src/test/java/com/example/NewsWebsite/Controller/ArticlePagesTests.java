@@ -0,0 +1,178 @@
+package com.example.NewsWebsite.Controller;
+
+import com.example.NewsWebsite.Cache.ResultSnapshotStore;
+import com.example.NewsWebsite.Model.AggregatedNews;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticlePagesTests {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final ArticlePages pages = new ArticlePages(new ResultSnapshotStore(300_000, 10), environment, 100, 60, 300);
+
+    @Test
+    void cursorsWalkEveryPageWithoutSearchingAgain() {
+        AggregatedNews result = new AggregatedNews(List.of(article("a"), article("b"), article("c"), article("d"), article("e")), List.of("GNews"));
+        AtomicInteger searches = new AtomicInteger();
+
+        List<String> titles = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        ResponseEntity<MappingJacksonValue> page = pages.respond("search", () -> {
+            searches.incrementAndGet();
+            return result;
+        }, 2, null, ArticleFields.ALL, null);
+        while (true) {
+            assertEquals(HttpStatus.OK, page.getStatusCode());
+            assertEquals("GNews", page.getHeaders().getFirst(ArticlePages.MISSING_PROVIDERS_HEADER));
+            pageSizes.add(articles(page).size());
+            articles(page).forEach(article -> titles.add(article.getTitle()));
+            String cursor = page.getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER);
+            if (cursor == null) {
+                break;
+            }
+            page = pages.respond("search", () -> fail("a cursor must not search again"), 2, cursor, ArticleFields.ALL, null);
+        }
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), titles);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void resultsThatFitOnOnePageHaveNoCursor() {
+        AggregatedNews result = new AggregatedNews(List.of(article("a"), article("b")), List.of());
+
+        ResponseEntity<MappingJacksonValue> all = pages.respond("search", () -> result, null, null, ArticleFields.ALL, null);
+        ResponseEntity<MappingJacksonValue> exact = pages.respond("search", () -> result, 2, null, ArticleFields.ALL, null);
+
+        assertEquals(2, articles(all).size());
+        assertNull(all.getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER));
+        assertNull(exact.getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER));
+        assertNull(exact.getHeaders().getFirst(ArticlePages.MISSING_PROVIDERS_HEADER));
+    }
+
+    @Test
+    void rejectsATamperedCursor() {
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> fail("no search"), 2, "not a cursor!", ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> fail("no search"), 2, cursor("abc"), ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> fail("no search"), 2, cursor("abc:-2"), ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> fail("no search"), 2, cursor("abc:two"), ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.GONE, pages.respond("search", () -> fail("no search"), 2, cursor("abc:2"), ArticleFields.ALL, null).getStatusCode());
+    }
+
+    @Test
+    void rejectsAnExpiredCursor() {
+        // every snapshot is already past its ttl when it is read back
+        ArticlePages expiring = new ArticlePages(new ResultSnapshotStore(-1, 10), environment, 100, 60, 300);
+        AggregatedNews result = new AggregatedNews(List.of(article("a"), article("b"), article("c")), List.of());
+        String cursor = expiring.respond("search", () -> result, 2, null, ArticleFields.ALL, null).getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        ResponseEntity<MappingJacksonValue> next = expiring.respond("search", () -> fail("no search"), 2, cursor, ArticleFields.ALL, null);
+
+        assertEquals(HttpStatus.GONE, next.getStatusCode());
+        assertNull(next.getBody());
+    }
+
+    @Test
+    void rejectsALimitOutsideItsBounds() {
+        AggregatedNews result = new AggregatedNews(List.of(article("a")), List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> result, 0, null, ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> result, -5, null, ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, pages.respond("search", () -> result, 101, null, ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.OK, pages.respond("search", () -> result, 1, null, ArticleFields.ALL, null).getStatusCode());
+        assertEquals(HttpStatus.OK, pages.respond("search", () -> result, 100, null, ArticleFields.ALL, null).getStatusCode());
+    }
+
+    @Test
+    void unchangedResultsAreAnsweredWithNotModified() {
+        AggregatedNews result = new AggregatedNews(List.of(article("a"), article("b")), List.of());
+        ResponseEntity<MappingJacksonValue> first = pages.respond("search", () -> result, null, null, ArticleFields.ALL, null);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("max-age=60, public, stale-while-revalidate=300", first.getHeaders().getCacheControl());
+
+        ResponseEntity<MappingJacksonValue> repeat = pages.respond("search", () -> result, null, null, ArticleFields.ALL, "\"other\", " + etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, repeat.getStatusCode());
+        assertNull(repeat.getBody());
+        assertEquals(etag, repeat.getHeaders().getETag());
+
+        AggregatedNews changed = new AggregatedNews(List.of(article("a"), article("c")), List.of());
+        ResponseEntity<MappingJacksonValue> fresh = pages.respond("search", () -> changed, null, null, ArticleFields.ALL, etag);
+        assertEquals(HttpStatus.OK, fresh.getStatusCode());
+        assertNotEquals(etag, fresh.getHeaders().getETag());
+    }
+
+    @Test
+    void repeatedSearchesHandOutTheSameCursor() {
+        AggregatedNews result = new AggregatedNews(List.of(article("a"), article("b"), article("c")), List.of());
+        String cursor = pages.respond("search", () -> result, 2, null, ArticleFields.ALL, null).getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER);
+        String again = pages.respond("search", () -> result, 2, null, ArticleFields.ALL, null).getHeaders().getFirst(ArticlePages.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+        assertEquals(cursor, again);
+    }
+
+    @Test
+    void partialResultsMustBeRevalidatedAndEndpointsCanOverrideTheDefaults() {
+        AggregatedNews partial = new AggregatedNews(List.of(article("a")), List.of("GNews"));
+        assertEquals("no-cache", pages.respond("search", () -> partial, null, null, ArticleFields.ALL, null).getHeaders().getCacheControl());
+
+        environment.setProperty("news.http.cache.sources.max-age-s", "3600");
+        environment.setProperty("news.http.cache.sources.stale-while-revalidate-s", "0");
+        HttpHeaders headers = pages.respondValues("sources", List.of("BBC News"), null).getHeaders();
+        assertEquals("max-age=3600, public", headers.getCacheControl());
+    }
+
+    @Test
+    void projectionsSkipUnrequestedFieldsAndChangeTheEtag() throws Exception {
+        AggregatedNews result = new AggregatedNews(List.of(article("a")), List.of());
+        ResponseEntity<MappingJacksonValue> full = pages.respond("search", () -> result, null, null, ArticleFields.ALL, null);
+        ResponseEntity<MappingJacksonValue> summary = pages.respond("search", () -> result, null, null, ArticleFields.parse(null, "summary"), null);
+        ResponseEntity<MappingJacksonValue> picked = pages.respond("search", () -> result, null, null, ArticleFields.parse("title, url", "summary"), null);
+        assertNotEquals(full.getHeaders().getETag(), summary.getHeaders().getETag());
+
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        String summaryJson = mapper.writer(summary.getBody().getFilters()).writeValueAsString(summary.getBody().getValue());
+        assertTrue(summaryJson.contains("\"sourceName\""));
+        assertFalse(summaryJson.contains("\"content\""));
+        assertFalse(summaryJson.contains("\"language\""));
+        assertEquals("[{\"title\":\"a\",\"url\":\"https://example.com/a\"}]",
+                mapper.writer(picked.getBody().getFilters()).writeValueAsString(picked.getBody().getValue()));
+
+        assertEquals(picked.getHeaders().getETag(),
+                pages.respond("search", () -> result, null, null, ArticleFields.parse("url,title", null), null).getHeaders().getETag());
+
+        assertThrows(ResponseStatusException.class, () -> ArticleFields.parse("title,body", null));
+        assertThrows(ResponseStatusException.class, () -> ArticleFields.parse(null, "compact"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ArticleDTO> articles(ResponseEntity<MappingJacksonValue> page) {
+        return (List<ArticleDTO>) page.getBody().getValue();
+    }
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ArticleDTO article(String title) {
+        return new ArticleDTO(title, "", "", "https://example.com/" + title, "", "Wire", LocalDateTime.of(2024, 1, 1, 0, 0), "en", null, null);
+    }
+}
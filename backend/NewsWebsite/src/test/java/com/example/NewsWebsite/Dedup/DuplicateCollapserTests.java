@@ -0,0 +1,48 @@
+package com.example.NewsWebsite.Dedup;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateCollapserTests {
+
+    @Test
+    void canonicalizesTrackingParametersAndHostVariants() {
+        assertEquals(UrlCanonicalizer.canonicalize("https://example.com/story?id=7"),
+                UrlCanonicalizer.canonicalize("http://www.Example.com/story/?utm_source=x&id=7&fbclid=abc#top"));
+        assertNotEquals(UrlCanonicalizer.canonicalize("https://example.com/story?id=7"),
+                UrlCanonicalizer.canonicalize("https://example.com/story?id=8"));
+    }
+
+    @Test
+    void collapsesSameUrlAndSyndicatedCopies() {
+        ArticleDTO original = article("Central bank raises interest rates to fight inflation",
+                "The central bank raised its key rate by half a point on Thursday", "https://wire.example/rates", "Wire");
+        ArticleDTO tracked = article("Central bank raises interest rates to fight inflation",
+                "", "https://www.wire.example/rates?utm_campaign=feed", "Daily Post");
+        ArticleDTO syndicated = article("Central bank raises interest rates to fight inflation",
+                "The central bank raised its key rate by half a point on Thursday", "https://paper.example/a/123", "City Paper");
+        ArticleDTO unrelated = article("Storm closes schools across the region",
+                "Heavy snow forced hundreds of schools to close", "https://paper.example/a/124", "City Paper");
+
+        DuplicateCollapser collapser = new DuplicateCollapser(3);
+        assertTrue(collapser.add(original));
+        assertFalse(collapser.add(tracked));
+        assertFalse(collapser.add(syndicated));
+        assertTrue(collapser.add(unrelated));
+
+        List<ArticleDTO> result = collapser.result();
+        assertEquals(2, result.size());
+        assertEquals(List.of("Daily Post", "City Paper"), result.get(0).getAlsoReportedBy());
+        assertNull(result.get(1).getAlsoReportedBy());
+        assertNull(original.getAlsoReportedBy(), "the shared input article must not be modified");
+    }
+
+    private static ArticleDTO article(String title, String description, String url, String source) {
+        return new ArticleDTO(title, description, "", url, "", source, LocalDateTime.of(2024, 1, 1, 0, 0), "en", null, null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.NewsWebsite.Mapper;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Model.SourceDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleJsonMapperTests {
+
+    private final ArticleJsonMapper mapper = new ArticleJsonMapper();
+
+    @Test
+    void readsANewsApiArticle() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"status": "ok", "totalResults": 1, "articles": [{
+                  "source": {"id": "bbc-news", "name": "BBC News"},
+                  "title": "Storm knocks out power",
+                  "description": "Thousands are without power",
+                  "content": "Crews are working",
+                  "url": "https://example.com/storm",
+                  "urlToImage": "https://example.com/storm.jpg",
+                  "image": "https://example.com/ignored.jpg",
+                  "publishedAt": "2025-03-01T10:15:30Z"
+                }]}
+                """), ArticleMapping.NEWS_API, "en", "general");
+
+        assertEquals(1, articles.size());
+        ArticleDTO article = articles.get(0);
+        assertEquals("Storm knocks out power", article.getTitle());
+        assertEquals("Thousands are without power", article.getDescription());
+        assertEquals("Crews are working", article.getContent());
+        assertEquals("https://example.com/storm", article.getUrl());
+        assertEquals("https://example.com/storm.jpg", article.getImageUrl());
+        assertEquals("BBC News", article.getSourceName());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 10, 15, 30), article.getPublishedAt());
+        assertEquals("en", article.getLanguage());
+        assertEquals("general", article.getCategory());
+    }
+
+    @Test
+    void readsTheGNewsImageField() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"totalArticles": 1, "articles": [{
+                  "title": "Storm knocks out power",
+                  "urlToImage": "https://example.com/ignored.jpg",
+                  "image": "https://example.com/storm.jpg"
+                }]}
+                """), ArticleMapping.GNEWS, "en", "general");
+
+        assertEquals("https://example.com/storm.jpg", articles.get(0).getImageUrl());
+    }
+
+    @Test
+    void answersNothingForAnErrorBody() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"status": "error", "code": "rateLimited", "message": "You have made too many requests"}
+                """), ArticleMapping.NEWS_API, "en", "general");
+
+        assertTrue(articles.isEmpty());
+    }
+
+    @Test
+    void ignoresArticlesThatAreNotAnArray() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"articles": {"title": "Storm knocks out power"}, "totalResults": 1}
+                """), ArticleMapping.NEWS_API, "en", "general");
+
+        assertTrue(articles.isEmpty());
+    }
+
+    @Test
+    void readsNullAndNestedValuesAsEmpty() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"articles": [{
+                  "title": null,
+                  "description": {"text": "nested"},
+                  "content": ["a", "b"],
+                  "url": 42
+                }]}
+                """), ArticleMapping.NEWS_API, "en", "general");
+
+        ArticleDTO article = articles.get(0);
+        assertEquals("", article.getTitle());
+        assertEquals("", article.getDescription());
+        assertEquals("", article.getContent());
+        assertEquals("42", article.getUrl());
+        assertEquals("", article.getImageUrl());
+        assertNull(article.getPublishedAt());
+    }
+
+    @Test
+    void namesTheSourceUnknownOnlyWhenItIsMissing() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"articles": [
+                  {"title": "no source"},
+                  {"title": "source without a name", "source": {"id": "bbc-news"}},
+                  {"title": "source that is not an object", "source": "BBC News"}
+                ]}
+                """), ArticleMapping.NEWS_API, "en", "general");
+
+        assertEquals("Unknown", articles.get(0).getSourceName());
+        assertEquals("", articles.get(1).getSourceName());
+        assertEquals("Unknown", articles.get(2).getSourceName());
+    }
+
+    @Test
+    void leavesAnUnparseableDateEmpty() throws IOException {
+        List<ArticleDTO> articles = mapper.readArticles(json("""
+                {"articles": [{"title": "Storm knocks out power", "publishedAt": "yesterday"}]}
+                """), ArticleMapping.GNEWS, "en", "general");
+
+        assertEquals("Storm knocks out power", articles.get(0).getTitle());
+        assertNull(articles.get(0).getPublishedAt());
+    }
+
+    @Test
+    void readsTheSourcesCatalog() {
+        byte[] body = """
+                {"status": "ok", "sources": [
+                  {"id": "bbc-news", "name": "BBC News", "description": "skipped", "category": "general", "language": "en", "country": "gb"},
+                  {"id": null, "name": "Le Monde", "language": "fr"}
+                ]}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        List<SourceDTO> sources = mapper.readSources(DefaultDataBufferFactory.sharedInstance.wrap(body));
+
+        assertEquals(List.of(new SourceDTO("bbc-news", "BBC News", "general", "en"),
+                new SourceDTO("", "Le Monde", "", "fr")), sources);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,8 @@ package com.example.NewsWebsite;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+//the embedded mongod of flapdoodle stands in for the article store, same version as ArticleStoreServiceTests
+@SpringBootTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.2")
 class NewsWebsiteApplicationTests {
 
 	@Test
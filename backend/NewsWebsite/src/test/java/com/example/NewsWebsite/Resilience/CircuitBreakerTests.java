@@ -0,0 +1,61 @@
+package com.example.NewsWebsite.Resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTests {
+
+    @Test
+    void opensOnceTheFailureRateCrossesTheThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 60_000, 1);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "too few calls to judge");
+
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getRejectedCalls());
+        assertEquals(1, breaker.getTimesOpened());
+    }
+
+    @Test
+    void trialCallsDecideWhetherToClose() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 50, 1, 2);
+        breaker.onFailure();
+        breaker.onFailure();
+        Thread.sleep(5);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "only two trial calls");
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+        breaker.onFailure();
+        Thread.sleep(5);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        // a failed trial reopens the breaker and counts like any other open
+        assertEquals(3, breaker.getTimesOpened());
+    }
+
+    @Test
+    void oldOutcomesSlideOutOfTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 75, 60_000, 1);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(0.0, breaker.failureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.NewsWebsite.Resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProviderResilienceTests {
+
+    @Test
+    void clientErrorsLeaveTheBreakerClosed() {
+        ProviderResilience resilience = resilience();
+        for (HttpStatus status : new HttpStatus[] {HttpStatus.BAD_REQUEST, HttpStatus.UNAUTHORIZED, HttpStatus.TOO_MANY_REQUESTS, HttpStatus.NOT_FOUND}) {
+            assertThrows(WebClientResponseException.class, () -> failWith(resilience, error(status)));
+        }
+
+        assertEquals("CLOSED", breaker(resilience).get("state"));
+        assertEquals(0.0, breaker(resilience).get("failureRate"));
+    }
+
+    @Test
+    void serverErrorsAndTimeoutsOpenTheBreaker() {
+        ProviderResilience resilience = resilience();
+        assertThrows(WebClientResponseException.class, () -> failWith(resilience, error(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertThrows(RuntimeException.class, () -> failWith(resilience, new TimeoutException("no answer")));
+
+        assertEquals("OPEN", breaker(resilience).get("state"));
+        assertThrows(ProviderUnavailableException.class, () -> failWith(resilience, error(HttpStatus.BAD_GATEWAY)));
+    }
+
+    private static ProviderResilience resilience() {
+        ProviderResilience resilience = new ProviderResilience(new MockEnvironment(), mock(QuotaManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(resilience, "breakerWindow", 4);
+        ReflectionTestUtils.setField(resilience, "breakerMinCalls", 2);
+        ReflectionTestUtils.setField(resilience, "breakerFailureRate", 50.0);
+        ReflectionTestUtils.setField(resilience, "breakerOpenMs", 60_000L);
+        ReflectionTestUtils.setField(resilience, "breakerHalfOpenCalls", 1);
+        ReflectionTestUtils.setField(resilience, "slowCallMs", 5_000L);
+        ReflectionTestUtils.setField(resilience, "defaultMaxConcurrent", 10);
+        return resilience;
+    }
+
+    private static void failWith(ProviderResilience resilience, Throwable error) {
+        resilience.call("gnews", "search", () -> Mono.error(error)).block();
+    }
+
+    private static WebClientResponseException error(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> breaker(ProviderResilience resilience) {
+        Map<String, Object> breakers = (Map<String, Object>) resilience.snapshot().get("breakers");
+        return (Map<String, Object>) breakers.get("gnews/search");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.NewsWebsite.Resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void spendsTheBurstThenBorrowsWithinTheWaitBudget() {
+        TokenBucket bucket = new TokenBucket(2, 2, nanos::get);
+        assertEquals(0, bucket.reserve(1, 0));
+        assertEquals(0, bucket.reserve(1, 0));
+
+        assertEquals(-1, bucket.reserve(1, 100), "next token is 500 ms away");
+        assertEquals(500, bucket.reserve(1, 500));
+        assertEquals(-1, bucket.reserve(1, 500), "the borrowed token pushes the next one to a second");
+    }
+
+    @Test
+    void refillsOverTimeUpToTheCapacity() {
+        TokenBucket bucket = new TokenBucket(1, 3, nanos::get);
+        bucket.reserve(3, 0);
+        nanos.addAndGet(2_000_000_000L);
+        assertEquals(2.0, bucket.available(), 1e-9);
+
+        nanos.addAndGet(60_000_000_000L);
+        assertEquals(3.0, bucket.available(), 1e-9);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.NewsWebsite.Search;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleIndexTests {
+
+    @Test
+    void findsArticlesContainingEveryQueryTerm() {
+        ArticleIndex index = new ArticleIndex(100, 60_000);
+        index.addAll(List.of(
+                article("Elections in France", "Voters head to the polls", "https://a/1", "en", 1),
+                article("France wins the cup", "Football final report", "https://a/2", "en", 2),
+                article("Markets rally", "Stocks up after the election", "https://a/3", "en", 3)));
+
+        List<ArticleDTO> results = index.search("election france", "en");
+
+        assertEquals(1, results.size());
+        assertEquals("https://a/1", results.get(0).getUrl());
+        assertEquals(List.of("https://a/3", "https://a/1"), index.search("Election", "en").stream().map(ArticleDTO::getUrl).toList());
+    }
+
+    @Test
+    void keepsLanguagesApartAndFoldsAccents() {
+        ArticleIndex index = new ArticleIndex(100, 60_000);
+        index.addAll(List.of(
+                article("Le café de Paris", "", "https://a/1", "fr", 1),
+                article("Paris café guide", "", "https://a/2", "en", 2)));
+
+        assertEquals(List.of("https://a/1"), index.search("cafe", "fr").stream().map(ArticleDTO::getUrl).toList());
+        assertEquals(List.of("https://a/2"), index.search("café", "en").stream().map(ArticleDTO::getUrl).toList());
+    }
+
+    @Test
+    void replacesReaddedArticlesAndEvictsOverCapacity() {
+        ArticleIndex index = new ArticleIndex(2, 60_000);
+        index.addAll(List.of(article("Rocket launch delayed", "", "https://a/1", "en", 1)));
+        index.addAll(List.of(article("Rocket launch confirmed", "", "https://a/1", "en", 1)));
+        assertEquals(1, index.size());
+        assertTrue(index.search("delayed", "en").isEmpty());
+
+        index.addAll(List.of(
+                article("Rocket lands", "", "https://a/2", "en", 2),
+                article("Rocket explodes", "", "https://a/3", "en", 3)));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("https://a/3", "https://a/2"), index.search("rocket", "en").stream().map(ArticleDTO::getUrl).toList());
+    }
+
+    @Test
+    void evictsArticlesOlderThanMaxAge() {
+        ArticleIndex index = new ArticleIndex(100, -1);
+        index.addAll(List.of(article("Storm warning", "", "https://a/1", "en", 1)));
+
+        index.evictExpired();
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("storm", "en").isEmpty());
+    }
+
+    private static ArticleDTO article(String title, String description, String url, String language, int hour) {
+        return new ArticleDTO(title, description, "", url, "", "Source", LocalDateTime.of(2024, 1, 1, hour, 0), language, null, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.NewsWebsite.Sentiment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexiconSentimentEngineTests {
+
+    private final LexiconSentimentEngine engine = new LexiconSentimentEngine("neutral");
+
+    @Test
+    void scoresPlainSentiment() {
+        assertEquals("positive", engine.classify("Team celebrates a historic victory"));
+        assertEquals("negative", engine.classify("Floods destroy homes across the valley"));
+        assertEquals("neutral", engine.classify("  "));
+    }
+
+    @Test
+    void flipsNegatedWords() {
+        assertEquals("negative", engine.classify("The launch was not a success"));
+        assertEquals("positive", engine.classify("Doctors say the new treatment isn't dangerous"));
+        assertEquals("negative", engine.classify("Survivors say the response was not good enough"));
+        assertEquals("positive", engine.classify("Rescue crews report no injuries after the fire"));
+    }
+
+    @Test
+    void weighsTheClauseAfterButMore() {
+        assertEquals("negative", engine.classify("The design is good but the battery failure ruined it"));
+        assertEquals("positive", engine.classify("Despite the storm the festival was a huge success"));
+    }
+
+    @Test
+    void handlesInflectedForms() {
+        assertEquals("negative", engine.classify("Markets tumbling as investors panicked"));
+        assertEquals("positive", engine.classify("Rescuers successfully reached the climbers"));
+    }
+}
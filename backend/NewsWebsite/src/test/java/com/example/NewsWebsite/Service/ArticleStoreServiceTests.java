@@ -0,0 +1,89 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Model.ArticleDocument;
+import com.example.NewsWebsite.Repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//runs against an embedded mongod started by flapdoodle
+@DataMongoTest(properties = "de.flapdoodle.mongodb.embedded.version=7.0.2")
+class ArticleStoreServiceTests {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private ArticleStoreService articleStore;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll();
+        articleStore = new ArticleStoreService(articleRepository, mongoTemplate, Runnable::run, true, 60_000, 100, 1);
+        articleStore.ensureIndexes();
+    }
+
+    @Test
+    void createsCompoundIndexes() {
+        List<String> indexNames = mongoTemplate.indexOps(ArticleDocument.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+
+        assertTrue(indexNames.contains("language_category_published"));
+        assertTrue(indexNames.contains("language_source_published"));
+        assertTrue(indexNames.contains("language_sentiment_published"));
+    }
+
+    @Test
+    void upsertKeepsKnownCategoryAndSentiment() {
+        articleStore.save(List.of(article("Rates held", "https://example.com/rates", "business", "positive")));
+        articleStore.save(List.of(article("Rates held", "https://example.com/rates", null, null)));
+
+        assertEquals(1, articleRepository.count());
+        Optional<List<ArticleDTO>> byCategory = articleStore.findFreshByCategory("Business", "en");
+        assertTrue(byCategory.isPresent());
+        assertEquals("positive", byCategory.get().get(0).getSentiment());
+    }
+
+    @Test
+    void readsByCategorySourceAndSentimentNewestFirst() {
+        ArticleDTO older = article("Older", "https://example.com/older", "technology", "negative");
+        older.setPublishedAt(LocalDateTime.now().minusHours(2));
+        ArticleDTO newer = article("Newer", "https://example.com/newer", "technology", "negative");
+        articleStore.save(List.of(older, newer));
+
+        assertEquals(List.of("Newer", "Older"), titles(articleStore.findFreshByCategory("technology", "en")));
+        assertEquals(List.of("Newer", "Older"), titles(articleStore.findFreshBySource("example news", "en")));
+        assertEquals(List.of("Newer", "Older"), titles(articleStore.findFreshBySentiment("NEGATIVE", "en")));
+        assertTrue(articleStore.findFreshByCategory("technology", "fr").isEmpty());
+    }
+
+    @Test
+    void staleArticlesAreNotServed() {
+        ArticleStoreService noMaxAge = new ArticleStoreService(articleRepository, mongoTemplate, Runnable::run, true, 0, 100, 1);
+        noMaxAge.save(List.of(article("Old news", "https://example.com/old", "health", "positive")));
+
+        assertTrue(noMaxAge.findFreshByCategory("health", "en").isEmpty());
+    }
+
+    private static ArticleDTO article(String title, String url, String category, String sentiment) {
+        return new ArticleDTO(title, "description", "content", url, "", "Example News",
+                LocalDateTime.now(), "en", sentiment, category);
+    }
+
+    private static List<String> titles(Optional<List<ArticleDTO>> articles) {
+        return articles.orElseThrow().stream().map(ArticleDTO::getTitle).toList();
+    }
+}
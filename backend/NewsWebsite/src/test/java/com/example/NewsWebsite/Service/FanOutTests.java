@@ -0,0 +1,70 @@
+package com.example.NewsWebsite.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicLong nanos = new AtomicLong();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deadlinesCountFromWhenTheScopeOpened() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        try (FanOut<String> scope = new FanOut<>(executor, nanos::get)) {
+            scope.fork("GNews", () -> {
+                done.countDown();
+                return "answered";
+            });
+            scope.fork("NewsAPI", this::hang);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // the whole deadline passes before anything is joined
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+            assertEquals("answered", scope.join("GNews", 100));
+            assertThrows(TimeoutException.class, () -> scope.join("NewsAPI", 100));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "a fork that missed its deadline is cancelled");
+        }
+    }
+
+    @Test
+    void closingTheScopeCancelsUnfinishedForks() throws Exception {
+        try (FanOut<String> scope = new FanOut<>(executor, nanos::get)) {
+            scope.fork("NewsAPI", this::hang);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private String hang() {
+        started.countDown();
+        try {
+            release.await();
+            return "too late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            return null;
+        }
+    }
+}
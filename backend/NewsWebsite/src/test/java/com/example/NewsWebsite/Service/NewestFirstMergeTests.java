@@ -0,0 +1,58 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewestFirstMergeTests {
+
+    @Test
+    void interleavesProvidersNewestFirst() {
+        List<ArticleDTO> newsApi = List.of(
+                article("Central bank holds interest rates steady", "https://a.example/rates", 9),
+                article("Storm knocks out power across the coast", "https://a.example/storm", 5));
+        List<ArticleDTO> gNews = List.of(
+                article("Local club wins the league on the final day", "https://b.example/league", 7),
+                article("Chipmaker unveils a faster processor", "https://b.example/chip", 3));
+
+        List<ArticleDTO> merged = NewestFirstMerge.merge(List.of(newsApi, gNews), 3, 100);
+
+        assertEquals(List.of(9, 7, 5, 3), merged.stream().map(article -> article.getPublishedAt().getHour()).toList());
+    }
+
+    @Test
+    void sortsAnUnsortedProviderWithoutChangingIt() {
+        List<ArticleDTO> unsorted = new ArrayList<>(List.of(
+                article("Court blocks the new mining permit", "https://a.example/court", 2),
+                article("Museum reopens after a long renovation", "https://a.example/museum", 8),
+                article(null, "https://a.example/untitled", 10)));
+
+        List<ArticleDTO> merged = NewestFirstMerge.merge(List.of(unsorted), 3, 100);
+
+        assertEquals(List.of(8, 2), merged.stream().map(article -> article.getPublishedAt().getHour()).toList());
+        assertEquals(2, unsorted.get(0).getPublishedAt().getHour());
+    }
+
+    @Test
+    void keepsTheNewestCopyAndStopsAtTheLimit() {
+        List<ArticleDTO> newsApi = List.of(
+                article("Vaccine trial reports strong early results", "https://a.example/vaccine", 4),
+                article("Airline cancels flights over a pilot strike", "https://a.example/strike", 1));
+        List<ArticleDTO> gNews = List.of(
+                article("Vaccine trial reports strong early results", "https://a.example/vaccine?utm_source=gnews", 6));
+
+        List<ArticleDTO> merged = NewestFirstMerge.merge(List.of(newsApi, gNews), 3, 1);
+
+        assertEquals(1, merged.size());
+        assertEquals(6, merged.get(0).getPublishedAt().getHour());
+    }
+
+    private static ArticleDTO article(String title, String url, int hour) {
+        return new ArticleDTO(title, "", "", url, "", "Wire", LocalDateTime.of(2024, 1, 1, hour, 0), "en", null, null);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.NewsWebsite.Service;
+
+import com.example.NewsWebsite.Cache.ProviderResponseCache;
+import com.example.NewsWebsite.Cache.SentimentCache;
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Model.AggregatedNews;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Resilience.ProviderResilience;
+import com.example.NewsWebsite.Resilience.QuotaManager;
+import com.example.NewsWebsite.Search.ArticleIndex;
+import com.example.NewsWebsite.Sentiment.LexiconSentimentEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsAggregatorServiceTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void dropsAProviderThatMissesItsDeadline() {
+        FakeProvider hanging = new FakeProvider("first", Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 100, Mono::never);
+        NewsAggregatorService aggregator = aggregator(List.of(hanging, answering("second")));
+
+        AggregatedNews result = aggregator.searchNews("rates", "en");
+
+        assertEquals(List.of(HEADLINES.get("second")), result.getArticles().stream().map(ArticleDTO::getTitle).toList());
+        assertEquals(List.of("first"), result.getMissingProviders());
+    }
+
+    @Test
+    void callsEveryProviderAtOnce() {
+        // each provider answers only once every provider has been called
+        CountDownLatch allCalled = new CountDownLatch(3);
+        List<FakeProvider> providers = new ArrayList<>();
+        for (String name : List.of("first", "second", "third")) {
+            providers.add(new FakeProvider(name, Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 5000, () -> Mono.fromCallable(() -> {
+                allCalled.countDown();
+                assertTrue(allCalled.await(4, TimeUnit.SECONDS));
+                return List.of(article(name, HEADLINES.get(name)));
+            }).subscribeOn(Schedulers.boundedElastic())));
+        }
+        NewsAggregatorService aggregator = aggregator(providers);
+
+        AggregatedNews result = aggregator.searchNews("rates", "en");
+
+        assertEquals(3, result.getArticles().size());
+        assertTrue(result.getMissingProviders().isEmpty());
+    }
+
+    @Test
+    void skipsProvidersWithoutTheLanguageOrCapability() {
+        FakeProvider english = new FakeProvider("english", Set.of("en"), EnumSet.of(NewsProvider.Capability.CATEGORIES), 5000, () -> story("english"));
+        FakeProvider everyLanguage = new FakeProvider("every-language", Set.of(), EnumSet.allOf(NewsProvider.Capability.class), 5000, () -> story("every-language"));
+        FakeProvider queryOnly = answering("query-only");
+        NewsAggregatorService aggregator = aggregator(List.of(english, everyLanguage, queryOnly));
+
+        aggregator.fetchNewsByCategory("business", "de");
+        assertEquals(0, english.calls.get());
+        assertEquals(1, everyLanguage.calls.get());
+        assertEquals(0, queryOnly.calls.get());
+
+        // a query inside a category needs QUERY_IN_HEADLINES
+        aggregator.searchCombined("rates", null, "business", null, "en");
+        assertEquals(0, english.calls.get());
+        assertEquals(2, everyLanguage.calls.get());
+        assertEquals(0, queryOnly.calls.get());
+
+        aggregator.searchCombined(null, null, "business", null, "en");
+        assertEquals(1, english.calls.get());
+        assertEquals(3, everyLanguage.calls.get());
+        assertEquals(0, queryOnly.calls.get());
+    }
+
+    @Test
+    void reportsFailedProvidersAsMissing() {
+        FakeProvider failing = new FakeProvider("failing", Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 5000,
+                () -> Mono.error(new IllegalStateException("failing is down")));
+        NewsAggregatorService aggregator = aggregator(List.of(answering("healthy"), failing));
+
+        AggregatedNews result = aggregator.searchNews("rates", "en");
+
+        assertEquals(1, result.getArticles().size());
+        assertEquals(List.of("failing"), result.getMissingProviders());
+    }
+
+    @Test
+    void reportsAProviderAnsweringWithAnErrorAsMissing() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getBeanFactory().setConversionService(new ApplicationConversionService());
+            TestPropertyValues.of("gnews.key=test", "news.sentiment.engine=lexicon").applyTo(context);
+            context.register(FailingUpstream.class, GNewsService.class, ProviderResilience.class, QuotaManager.class,
+                    ProviderResponseCache.class, ArticleJsonMapper.class, SentimentService.class, LexiconSentimentEngine.class,
+                    SentimentCache.class);
+            context.refresh();
+
+            NewsAggregatorService aggregator = aggregator(List.of(answering("healthy"), context.getBean(GNewsService.class)));
+
+            AggregatedNews result = aggregator.searchNews("rates", "en");
+
+            assertEquals(1, result.getArticles().size());
+            assertEquals(List.of("GNews"), result.getMissingProviders());
+        }
+    }
+
+    @Test
+    void cancelsAVirtualThreadForkThatMissesItsDeadline() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        FakeProvider hanging = new FakeProvider("first", Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 100,
+                () -> Mono.<List<ArticleDTO>>never().doOnCancel(cancelled::countDown));
+        NewsAggregatorService aggregator = aggregator(List.of(hanging, answering("second")));
+        ReflectionTestUtils.setField(aggregator, "virtualThreads", true);
+
+        AggregatedNews result = aggregator.searchNews("rates", "en");
+
+        assertEquals(1, result.getArticles().size());
+        assertEquals(List.of("first"), result.getMissingProviders());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void streamNeverRepeatsAStoryALaterProviderReturns() {
+        FakeProvider early = new FakeProvider("early", Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 5000,
+                () -> Mono.just(List.of(article("early", "Storm knocks out power across the coast"))));
+        FakeProvider late = new FakeProvider("late", Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 5000, () -> Mono.fromCallable(() -> {
+            release.await();
+            return List.of(article("late", "Storm knocks out power across the coast"),
+                    article("late", "Central bank holds interest rates steady"));
+        }).subscribeOn(Schedulers.boundedElastic()));
+        NewsAggregatorService aggregator = aggregator(List.of(early, late));
+
+        Iterator<ArticleDTO> stream = aggregator.streamCombined("storm", null, null, null, "en").toIterable().iterator();
+        ArticleDTO first = stream.next();
+        // the late provider may only answer now, so its copy of the story arrives after the early one was sent
+        release.countDown();
+        List<ArticleDTO> rest = new ArrayList<>();
+        stream.forEachRemaining(rest::add);
+
+        assertEquals("early", first.getSourceName());
+        assertEquals(List.of("Central bank holds interest rates steady"), rest.stream().map(ArticleDTO::getTitle).toList());
+    }
+
+    private NewsAggregatorService aggregator(List<? extends NewsProvider> providers) {
+        ArticleStoreService store = new ArticleStoreService(null, null, Runnable::run, false, 60_000, 100, 1);
+        NewsAggregatorService aggregator = new NewsAggregatorService(new ArrayList<>(providers), executor, store,
+                new HeadlineSnapshot(60_000), new ArticleIndex(1000, 60_000), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "concurrentFanOut", true);
+        ReflectionTestUtils.setField(aggregator, "duplicateMaxDistance", 3);
+        ReflectionTestUtils.setField(aggregator, "maxResults", 1000);
+        ReflectionTestUtils.setField(aggregator, "executionMode", "blocking");
+        return aggregator;
+    }
+
+    //unrelated stories, so no two providers' articles collapse into one
+    private static final Map<String, String> HEADLINES = Map.of(
+            "first", "Central bank holds interest rates steady",
+            "second", "Storm knocks out power across the coast",
+            "third", "Local club wins the league on the final day",
+            "english", "Chipmaker unveils a faster processor",
+            "every-language", "Court blocks the new mining permit",
+            "query-only", "Museum reopens after a long renovation",
+            "healthy", "Vaccine trial reports strong early results");
+
+    //a provider for every language without optional capabilities, answering at once with its own story
+    private static FakeProvider answering(String name) {
+        return new FakeProvider(name, Set.of(), EnumSet.noneOf(NewsProvider.Capability.class), 5000, () -> story(name));
+    }
+
+    private static Mono<List<ArticleDTO>> story(String name) {
+        return Mono.just(List.of(article(name, HEADLINES.get(name))));
+    }
+
+    private static ArticleDTO article(String source, String title) {
+        return new ArticleDTO(title, "", "", "https://" + source + ".example/" + title.toLowerCase().replace(' ', '-'), "", source,
+                LocalDateTime.of(2024, 1, 1, 0, 0), "en", null, null);
+    }
+
+    //a provider host that answers every request with a 500
+    @Configuration
+    static class FailingUpstream {
+
+        @Bean
+        WebClient webClient() {
+            return WebClient.builder()
+                    .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()))
+                    .build();
+        }
+
+        @Bean(name = "providerExecutor", destroyMethod = "shutdownNow")
+        ExecutorService providerExecutor() {
+            return Executors.newSingleThreadExecutor();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    //answers every call through its supplier and counts the calls
+    private static final class FakeProvider implements NewsProvider {
+
+        private final String name;
+        private final Set<String> languages;
+        private final Set<Capability> capabilities;
+        private final long timeoutMs;
+        private final Supplier<Mono<List<ArticleDTO>>> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FakeProvider(String name, Set<String> languages, Set<Capability> capabilities, long timeoutMs, Supplier<Mono<List<ArticleDTO>>> answer) {
+            this.name = name;
+            this.languages = languages;
+            this.capabilities = capabilities;
+            this.timeoutMs = timeoutMs;
+            this.answer = answer;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Set<String> getLanguages() {
+            return languages;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return capabilities;
+        }
+
+        @Override
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        @Override
+        public Mono<List<ArticleDTO>> getNewsAsync(String query, String language) {
+            return answer();
+        }
+
+        @Override
+        public Mono<List<ArticleDTO>> getCombinedNewsAsync(String query, String source, String category, String sentiment, String language) {
+            return answer();
+        }
+
+        @Override
+        public Mono<List<ArticleDTO>> getNewsByCategoryAsync(String category, String language) {
+            return answer();
+        }
+
+        private Mono<List<ArticleDTO>> answer() {
+            calls.incrementAndGet();
+            return answer.get();
+        }
+    }
+}
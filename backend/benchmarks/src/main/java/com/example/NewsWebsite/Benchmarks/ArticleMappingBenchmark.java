@@ -0,0 +1,50 @@
+package com.example.NewsWebsite.Benchmarks;
+
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Mapper.ArticleMapping;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//provider response bytes to ArticleDTOs, the mapping every uncached provider call goes through
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleMappingBenchmark {
+
+    @Param({"NEWS_API", "GNEWS"})
+    private ArticleMapping mapping;
+
+    @Param({"10", "100", "1000"})
+    private int articles;
+
+    private final ArticleJsonMapper mapper = new ArticleJsonMapper();
+    private byte[] payload;
+
+    @Setup
+    public void loadPayload() {
+        payload = Payloads.articles(mapping, articles);
+    }
+
+    @Benchmark
+    public List<ArticleDTO> readArticles() throws IOException {
+        return mapper.readArticles(new ByteArrayInputStream(payload), mapping, "en", null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.NewsWebsite.Benchmarks;
+
+import com.example.NewsWebsite.Dedup.DuplicateCollapser;
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import com.example.NewsWebsite.Mapper.ArticleMapping;
+import com.example.NewsWebsite.Model.ArticleDTO;
+import com.example.NewsWebsite.Service.NewestFirstMerge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//merging two provider results with near-duplicate collapsing: the k-way newest-first merge the endpoints use,
+//against collapsing in provider order followed by a full sort
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    //articles per provider
+    @Param({"10", "100", "1000"})
+    private int articles;
+
+    private List<ArticleDTO> newsApi;
+    private List<ArticleDTO> gNews;
+
+    @Setup
+    public void loadResults() throws IOException {
+        ArticleJsonMapper mapper = new ArticleJsonMapper();
+        newsApi = mapper.readArticles(new ByteArrayInputStream(Payloads.articles(ArticleMapping.NEWS_API, articles)),
+                ArticleMapping.NEWS_API, "en", null);
+        gNews = mapper.readArticles(new ByteArrayInputStream(Payloads.articles(ArticleMapping.GNEWS, articles)),
+                ArticleMapping.GNEWS, "en", null);
+        // every fifth GNews article is a syndicated copy of a NewsAPI one, about the overlap seen between the two
+        for (int i = 0; i < gNews.size() && i < newsApi.size(); i += 5) {
+            ArticleDTO original = newsApi.get(i);
+            ArticleDTO copy = gNews.get(i);
+            copy.setTitle(original.getTitle());
+            copy.setDescription(original.getDescription());
+            copy.setUrl(original.getUrl() + "?utm_source=gnews");
+        }
+        // both providers are asked for results sorted by publishedAt
+        newsApi.sort(ArticleDTO.NEWEST_FIRST);
+        gNews.sort(ArticleDTO.NEWEST_FIRST);
+    }
+
+    @Benchmark
+    public List<ArticleDTO> mergeNewestFirst() {
+        return NewestFirstMerge.merge(List.of(newsApi, gNews), 3, Integer.MAX_VALUE);
+    }
+
+    //the newest 20, the first page of a limit=20 request
+    @Benchmark
+    public List<ArticleDTO> mergeNewest20() {
+        return NewestFirstMerge.merge(List.of(newsApi, gNews), 3, 20);
+    }
+
+    @Benchmark
+    public List<ArticleDTO> collapseThenSort() {
+        DuplicateCollapser collapser = new DuplicateCollapser(3);
+        for (ArticleDTO article : newsApi) {
+            collapser.add(article);
+        }
+        for (ArticleDTO article : gNews) {
+            collapser.add(article);
+        }
+        List<ArticleDTO> sorted = new ArrayList<>(collapser.result());
+        sorted.sort(ArticleDTO.NEWEST_FIRST);
+        return sorted;
+    }
+}
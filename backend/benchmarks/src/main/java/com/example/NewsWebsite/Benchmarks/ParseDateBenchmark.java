@@ -0,0 +1,34 @@
+package com.example.NewsWebsite.Benchmarks;
+
+import com.example.NewsWebsite.Mapper.ArticleJsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+//publishedAt parsing, once per article, for a UTC instant and for an offset timestamp with fractions
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseDateBenchmark {
+
+    @Param({"2024-05-01T12:34:56Z", "2024-05-01T12:34:56.123+02:00"})
+    private String date;
+
+    @Benchmark
+    public LocalDateTime parseDate() {
+        return ArticleJsonMapper.parseDate(date);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.NewsWebsite.LoadTest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//response delay of a stub: fixed:<ms>, uniform:<min>-<max> or lognormal:<median>,<p99>
+final class LatencyModel {
+
+    //z-score of the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    private final String spec;
+    private final double a;
+    private final double b;
+    private final char kind;
+
+    private LatencyModel(String spec, char kind, double a, double b) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Latency must look like fixed:100, uniform:50-200 or lognormal:120,600, got " + spec);
+        }
+        switch (parts[0]) {
+            case "fixed" -> {
+                return new LatencyModel(spec, 'f', Double.parseDouble(parts[1]), 0);
+            }
+            case "uniform" -> {
+                String[] range = parts[1].split("-");
+                return new LatencyModel(spec, 'u', Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+            }
+            case "lognormal" -> {
+                String[] shape = parts[1].split(",");
+                double median = Double.parseDouble(shape[0]);
+                double p99 = Double.parseDouble(shape[1]);
+                if (p99 < median) {
+                    throw new IllegalArgumentException("The p99 of " + spec + " is below its median");
+                }
+                return new LatencyModel(spec, 'l', Math.log(median), Math.log(p99 / median) / Z_99);
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution " + parts[0]);
+        }
+    }
+
+    long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = switch (kind) {
+            case 'f' -> a;
+            case 'u' -> a + random.nextDouble() * (b - a);
+            default -> Math.exp(a + b * random.nextGaussian());
+        };
+        return Math.max(0, Math.round(millis));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.NewsWebsite.LoadTest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+//latencies and outcomes per endpoint for one load step, latency is measured from the scheduled send time
+final class LatencyRecorder {
+
+    private final Map<String, Series> series = new TreeMap<>();
+
+    synchronized void record(String endpoint, long latencyNanos, int status) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(latencyNanos, status);
+    }
+
+    //a request that never got a response: connection refused, timeout or dropped at the in-flight limit
+    synchronized void fail(String endpoint, long latencyNanos) {
+        series.computeIfAbsent(endpoint, e -> new Series()).add(latencyNanos, 0);
+    }
+
+    synchronized Report report(double rate, double seconds) {
+        Map<String, Summary> endpoints = new TreeMap<>();
+        Series total = new Series();
+        series.forEach((endpoint, s) -> {
+            endpoints.put(endpoint, s.summarize(seconds));
+            total.addAll(s);
+        });
+        return new Report(rate, endpoints, total.summarize(seconds));
+    }
+
+    record Summary(int requests, int ok, int notModified, int errors, double throughput,
+                   double p50, double p90, double p99, double p999, double max) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    record Report(double rate, Map<String, Summary> endpoints, Summary total) {
+
+        static final String HEADER = String.format(Locale.ROOT, "%-22s %8s %8s %6s %7s %9s %9s %9s %9s %9s %9s",
+                "endpoint", "rate", "requests", "errors", "304s", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        String format() {
+            StringBuilder out = new StringBuilder();
+            endpoints.forEach((endpoint, summary) -> out.append(line(endpoint, summary)).append('\n'));
+            return out.append(line("all", total)).append('\n').toString();
+        }
+
+        String csv() {
+            StringBuilder out = new StringBuilder();
+            endpoints.forEach((endpoint, summary) -> out.append(csvLine(endpoint, summary)).append('\n'));
+            return out.append(csvLine("all", total)).append('\n').toString();
+        }
+
+        private String line(String endpoint, Summary s) {
+            return String.format(Locale.ROOT, "%-22s %8.0f %8d %6d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    endpoint, rate, s.requests, s.errors, s.notModified, s.throughput, s.p50, s.p90, s.p99, s.p999, s.max);
+        }
+
+        private String csvLine(String endpoint, Summary s) {
+            return String.format(Locale.ROOT, "%.0f,%s,%d,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    rate, endpoint, s.requests, s.ok, s.notModified, s.errors, s.throughput, s.p50, s.p90, s.p99, s.p999, s.max);
+        }
+    }
+
+    static final String CSV_HEADER = "rate,endpoint,requests,ok,not_modified,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private static final class Series {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private int ok;
+        private int notModified;
+        private int errors;
+
+        void add(long latencyNanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (status == 304) {
+                notModified++;
+            } else if (status >= 200 && status < 300) {
+                ok++;
+            } else {
+                errors++;
+            }
+        }
+
+        void addAll(Series other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            ok += other.ok;
+            notModified += other.notModified;
+            errors += other.errors;
+        }
+
+        Summary summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Summary(size, ok, notModified, errors, (ok + notModified) / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        //nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.NewsWebsite.LoadTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+//starts the provider and sentiment stubs, optionally the service jar pointed at them, and drives it with open-loop load
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "search:4,top-headlines:2,search-by-category:2,search-by-source:1,search-combined:2,sources:1";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Options look like --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            if (name.equals("app-arg")) {
+                appArgs.add(value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        if (options.containsKey("help")) {
+            System.out.println("See backend/loadtest/README.md for the options");
+            return;
+        }
+
+        boolean stubsOnly = options.containsKey("stubs-only");
+        String appJar = options.get("app-jar");
+        List<StubServer> stubs = new ArrayList<>();
+        if (stubsOnly || appJar != null) {
+            int articles = Integer.parseInt(options.getOrDefault("articles", "50"));
+            stubs.add(stub(options, StubServer.Kind.NEWSAPI, "lognormal:150,900", articles));
+            stubs.add(stub(options, StubServer.Kind.GNEWS, "lognormal:200,1200", articles));
+            stubs.add(stub(options, StubServer.Kind.SENTIMENT, "lognormal:40,250", 0));
+            stubs.forEach(StubServer::start);
+        }
+
+        if (stubsOnly) {
+            System.out.println("Stubs are up, start the service with:");
+            serviceArguments(stubs).forEach(argument -> System.out.println("  " + argument));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> stubs.forEach(StubServer::stop)));
+            new CountDownLatch(1).await();
+        }
+
+        Process app = null;
+        URI target = URI.create(options.getOrDefault("target", "http://localhost:8080"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        try {
+            if (appJar != null) {
+                int port = freePort();
+                target = URI.create("http://localhost:" + port);
+                app = launch(appJar, port, stubs, appArgs, new File(options.getOrDefault("app-log", "loadtest-app.log")));
+                awaitHealthy(client, target, app, duration(options.getOrDefault("startup-timeout", "90s")));
+            }
+            int failures = drive(client, target, options);
+            stubs.forEach(stub -> System.out.println(stub.describe()));
+            if (failures > 0) {
+                System.exit(1);
+            }
+        } finally {
+            if (app != null) {
+                app.destroy();
+                app.waitFor();
+            }
+            stubs.forEach(StubServer::stop);
+        }
+    }
+
+    //runs the warm-up and every rate step, returns how many steps broke the p99 or error-rate limit
+    private static int drive(HttpClient client, URI target, Map<String, String> options) throws IOException, InterruptedException {
+        OpenLoopDriver driver = new OpenLoopDriver(client, target,
+                options.getOrDefault("endpoints", DEFAULT_MIX),
+                Integer.parseInt(options.getOrDefault("queries", "20")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+                duration(options.getOrDefault("timeout", "10s")));
+        Duration stepLength = duration(options.getOrDefault("duration", "30s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        double maxP99 = Double.parseDouble(options.getOrDefault("max-p99-ms", "0"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+
+        List<Double> rates = new ArrayList<>();
+        for (String rate : options.getOrDefault("rates", options.getOrDefault("rate", "50")).split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+
+        if (!warmup.isZero()) {
+            System.out.printf("Warming up %s at %.0f req/s%n", target, rates.get(0));
+            driver.run(rates.get(0), warmup);
+        }
+
+        String csv = options.get("csv");
+        PrintWriter csvOut = csv != null ? new PrintWriter(csv) : null;
+        if (csvOut != null) {
+            csvOut.println(LatencyRecorder.CSV_HEADER);
+        }
+        int failures = 0;
+        try {
+            System.out.println(LatencyRecorder.Report.HEADER);
+            for (double rate : rates) {
+                LatencyRecorder.Report report = driver.run(rate, stepLength).report(rate, stepLength.toNanos() / 1e9);
+                System.out.print(report.format());
+                if (csvOut != null) {
+                    csvOut.print(report.csv());
+                    csvOut.flush();
+                }
+                LatencyRecorder.Summary total = report.total();
+                if ((maxP99 > 0 && total.p99() > maxP99) || total.errorRate() > maxErrorRate) {
+                    System.out.printf("Step at %.0f req/s is over the limits (p99 %.1f ms, errors %.2f%%)%n",
+                            rate, total.p99(), total.errorRate() * 100);
+                    failures++;
+                }
+            }
+        } finally {
+            if (csvOut != null) {
+                csvOut.close();
+            }
+        }
+        return failures;
+    }
+
+    private static StubServer stub(Map<String, String> options, StubServer.Kind kind, String latency, int articles) throws IOException {
+        String prefix = kind.name().toLowerCase();
+        return new StubServer(kind,
+                LatencyModel.parse(options.getOrDefault(prefix + "-latency", latency)),
+                Double.parseDouble(options.getOrDefault(prefix + "-errors", "0")),
+                articles);
+    }
+
+    //properties that point the service at the stubs
+    private static List<String> serviceArguments(List<StubServer> stubs) {
+        return List.of(
+                "--newsapi.base-url=" + stubs.get(0).baseUrl(),
+                "--newsapi.key=loadtest",
+                "--gnews.base-url=" + stubs.get(1).baseUrl(),
+                "--gnews.key=loadtest",
+                "--sentiment.api.url=" + stubs.get(2).baseUrl(),
+                // there is no MongoDB next to the stubs, health would report DOWN because of it
+                "--management.health.mongo.enabled=false");
+    }
+
+    private static Process launch(String jar, int port, List<StubServer> stubs, List<String> appArgs, File log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.addAll(serviceArguments(stubs));
+        command.addAll(appArgs);
+        System.out.println("Starting " + jar + " on port " + port + ", log in " + log);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private static void awaitHealthy(HttpClient client, URI target, Process app, Duration timeout) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(target.resolve("/actuator/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("The service exited with code " + app.exitValue() + " before it became healthy");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("The service was not healthy after " + timeout);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    //500ms, 30s, 2m or plain seconds
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
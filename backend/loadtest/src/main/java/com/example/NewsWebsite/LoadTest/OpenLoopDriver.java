@@ -0,0 +1,117 @@
+package com.example.NewsWebsite.LoadTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//sends requests on a fixed schedule whether or not earlier ones have answered, so a slow service cannot slow the load down
+final class OpenLoopDriver {
+
+    //endpoint name -> path and query, {q}, {category}, {source} and {sentiment} are filled per request
+    static final List<String[]> ENDPOINTS = List.of(
+            new String[]{"search", "/api/news/search?query={q}"},
+            new String[]{"top-headlines", "/api/news/top-headlines"},
+            new String[]{"search-by-category", "/api/news/search-by-category?category={category}"},
+            new String[]{"search-by-source", "/api/news/search-by-source?source={source}"},
+            new String[]{"search-by-sentiment", "/api/news/search-by-sentiment?sentiment={sentiment}"},
+            new String[]{"search-combined", "/api/news/search-combined?query={q}&category={category}"},
+            new String[]{"sources", "/api/news/sources"},
+            new String[]{"categories", "/api/news/categories"});
+
+    private final HttpClient client;
+    private final URI target;
+    private final List<String[]> schedule;
+    private final int queries;
+    private final long seed;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    //mix is name:weight pairs, e.g. search:3,top-headlines:1
+    OpenLoopDriver(HttpClient client, URI target, String mix, int queries, long seed, int maxInFlight, Duration timeout) {
+        this.client = client;
+        this.target = target;
+        this.schedule = schedule(mix);
+        this.queries = queries;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+    }
+
+    //runs one step at a fixed rate and waits for the requests still in flight
+    LatencyRecorder run(double rate, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom(seed);
+        double intervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long requests = (long) (duration.toNanos() / intervalNanos);
+
+        for (long i = 0; i < requests; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String[] endpoint = schedule.get(random.nextInt(schedule.size()));
+            if (!inFlight.tryAcquire()) {
+                recorder.fail(endpoint[0], System.nanoTime() - intended);
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(target.resolve(path(endpoint[1], random)))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                // measured from the scheduled send time, so a late send counts against the service (no coordinated omission)
+                long latency = System.nanoTime() - intended;
+                if (error != null) {
+                    recorder.fail(endpoint[0], latency);
+                } else {
+                    recorder.record(endpoint[0], latency, response.statusCode());
+                }
+                inFlight.release();
+            });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            System.err.println("Requests still in flight after the step, they are left out of the report");
+        }
+        return recorder;
+    }
+
+    private String path(String template, SplittableRandom random) {
+        return template
+                .replace("{q}", StubArticles.query(random.nextInt(queries)))
+                .replace("{category}", StubArticles.CATEGORIES[random.nextInt(StubArticles.CATEGORIES.length)])
+                .replace("{source}", StubArticles.OUTLETS[random.nextInt(StubArticles.OUTLETS.length)].replace(" ", "%20"))
+                .replace("{sentiment}", random.nextBoolean() ? "positive" : "negative");
+    }
+
+    //every endpoint appears as often as its weight, a request picks one at random
+    private static List<String[]> schedule(String mix) {
+        List<String[]> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String[] endpoint = ENDPOINTS.stream()
+                    .filter(e -> e[0].equals(parts[0]))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + parts[0]));
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                schedule.add(endpoint);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("No endpoints in " + mix);
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.NewsWebsite.LoadTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+//response bodies in the NewsAPI and GNews formats, the same request always gets the same articles
+final class StubArticles {
+
+    static final String[] OUTLETS = {"Reuters", "BBC News", "The Verge", "Associated Press", "Bloomberg",
+            "TechCrunch", "The Guardian", "Al Jazeera English", "CNN", "Financial Times", "Ars Technica", "NPR"};
+
+    static final String[] CATEGORIES = {"business", "entertainment", "general", "health", "science", "sports", "technology"};
+
+    private static final String[] WORDS = {"market", "election", "climate", "startup", "central", "bank", "rates",
+            "inflation", "storm", "court", "ruling", "league", "final", "launch", "satellite", "vaccine", "trial",
+            "budget", "minister", "talks", "record", "shares", "chip", "supply", "energy", "prices", "strike",
+            "report", "study", "research", "players", "season", "deal", "merger", "security", "data", "breach"};
+
+    private StubArticles() {
+    }
+
+    static byte[] articles(boolean newsApi, String request, int count) {
+        SplittableRandom random = new SplittableRandom(request.hashCode());
+        // pinned to the hour so repeated requests stay identical while the articles still look recent
+        Instant newest = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        StringBuilder json = new StringBuilder(count * 1200 + 64);
+        json.append(newsApi ? "{\"status\":\"ok\",\"totalResults\":" : "{\"totalArticles\":").append(count).append(",\"articles\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String outlet = OUTLETS[random.nextInt(OUTLETS.length)];
+            String slug = outlet.toLowerCase(Locale.ROOT).replace(' ', '-');
+            String title = sentence(random, 8 + random.nextInt(8));
+            json.append('{');
+            if (newsApi) {
+                json.append("\"source\":{\"id\":\"").append(slug).append("\",\"name\":\"").append(outlet).append("\"},");
+            }
+            json.append("\"title\":\"").append(title).append("\",");
+            json.append("\"description\":\"").append(sentence(random, 25 + random.nextInt(20))).append("\",");
+            json.append("\"url\":\"https://www.").append(slug).append(".example/news/")
+                    .append(Integer.toHexString(request.hashCode())).append('/').append(i).append("\",");
+            json.append(newsApi ? "\"urlToImage\"" : "\"image\"").append(":\"https://cdn.").append(slug)
+                    .append(".example/images/").append(Long.toHexString(random.nextLong())).append(".jpg\",");
+            json.append("\"publishedAt\":\"").append(newest.minus(random.nextInt(60 * 24), ChronoUnit.MINUTES)).append("\",");
+            json.append("\"content\":\"").append(sentence(random, 30 + random.nextInt(10)))
+                    .append("... [+").append(1000 + random.nextInt(6000)).append(" chars]\"");
+            if (!newsApi) {
+                json.append(",\"source\":{\"name\":\"").append(outlet).append("\",\"url\":\"https://www.").append(slug).append(".example\"}");
+            }
+            json.append('}');
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    //the NewsAPI source catalog, one source per outlet
+    static byte[] sources(String language) {
+        StringBuilder json = new StringBuilder("{\"status\":\"ok\",\"sources\":[");
+        for (int i = 0; i < OUTLETS.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(OUTLETS[i].toLowerCase(Locale.ROOT).replace(' ', '-'))
+                    .append("\",\"name\":\"").append(OUTLETS[i])
+                    .append("\",\"category\":\"").append(CATEGORIES[i % CATEGORIES.length])
+                    .append("\",\"language\":\"").append(language).append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    //the k-th distinct search term, single words first and then pairs
+    static String query(int k) {
+        String first = WORDS[k % WORDS.length];
+        return k < WORDS.length ? first : first + "%20" + WORDS[(k / WORDS.length + k) % WORDS.length];
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            sentence.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return sentence.toString();
+    }
+}
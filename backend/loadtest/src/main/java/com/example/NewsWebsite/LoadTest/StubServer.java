@@ -0,0 +1,188 @@
+package com.example.NewsWebsite.LoadTest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//an in-process stand-in for NewsAPI, GNews or the sentiment model server, with its own latency and failure rate
+final class StubServer {
+
+    enum Kind { NEWSAPI, GNEWS, SENTIMENT }
+
+    //rendered bodies are reused across requests, cleared once this many distinct requests were seen
+    private static final int MAX_CACHED_BODIES = 10_000;
+
+    private static final byte[] FAILURE = "{\"status\":\"error\",\"code\":\"unexpectedError\",\"message\":\"stub failure\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Kind kind;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final int articles;
+    private final HttpServer server;
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    StubServer(Kind kind, LatencyModel latency, double errorRate, int articles) throws IOException {
+        this.kind = kind;
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.articles = articles;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // virtual threads keep thousands of simulated slow responses cheap
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    //the value the service's base url property should be set to
+    String baseUrl() {
+        String root = "http://127.0.0.1:" + server.getAddress().getPort();
+        return switch (kind) {
+            case NEWSAPI -> root + "/v2";
+            case GNEWS -> root + "/api/v4";
+            case SENTIMENT -> root;
+        };
+    }
+
+    String describe() {
+        return String.format("%-9s %-28s latency=%s errors=%.1f%% requests=%d failed=%d",
+                kind.name().toLowerCase(), baseUrl(), latency, errorRate * 100, requests.get(), failures.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            Thread.sleep(latency.sampleMillis());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                failures.incrementAndGet();
+                send(exchange, 500, FAILURE);
+                return;
+            }
+            byte[] body = respond(exchange.getRequestURI().getPath(), exchange.getRequestURI().getRawQuery(), request);
+            send(exchange, body != null ? 200 : 404, body != null ? body : FAILURE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] respond(String path, String query, byte[] request) {
+        String key = path + '?' + query;
+        return switch (kind) {
+            case NEWSAPI -> switch (path) {
+                case "/v2/top-headlines/sources" -> StubArticles.sources(parameter(query, "language", "en"));
+                case "/v2/everything", "/v2/top-headlines" -> cached(key, () -> StubArticles.articles(true, key, articles));
+                default -> null;
+            };
+            case GNEWS -> switch (path) {
+                case "/api/v4/search", "/api/v4/top-headlines" -> cached(key, () -> StubArticles.articles(false, key, articles));
+                default -> null;
+            };
+            case SENTIMENT -> switch (path) {
+                case "/analyze" -> ("{\"sentiment\":\"" + label(new String(request, StandardCharsets.UTF_8)) + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                case "/analyze-batch" -> sentiments(request);
+                default -> null;
+            };
+        };
+    }
+
+    private byte[] cached(String key, Supplier<byte[]> render) {
+        if (bodies.size() > MAX_CACHED_BODIES) {
+            bodies.clear();
+        }
+        return bodies.computeIfAbsent(key, k -> render.get());
+    }
+
+    //one label per text of {"texts": [...]}, derived from the text so repeated texts agree
+    private static byte[] sentiments(byte[] request) {
+        List<String> texts = JsonStrings.arrayOf(new String(request, StandardCharsets.UTF_8), "texts");
+        StringBuilder json = new StringBuilder("{\"sentiments\":[");
+        for (int i = 0; i < texts.size(); i++) {
+            json.append(i > 0 ? ",\"" : "\"").append(label(texts.get(i))).append('"');
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String label(String text) {
+        return (text.hashCode() & 1) == 0 ? "positive" : "negative";
+    }
+
+    private static String parameter(String query, String name, String fallback) {
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith(name + "=")) {
+                    return pair.substring(name.length() + 1);
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    //just enough JSON to pull a string array out of the sentiment batch request
+    static final class JsonStrings {
+
+        private JsonStrings() {
+        }
+
+        static List<String> arrayOf(String json, String field) {
+            List<String> values = new ArrayList<>();
+            int start = json.indexOf('"' + field + '"');
+            if (start < 0) {
+                return values;
+            }
+            int i = json.indexOf('[', start);
+            if (i < 0) {
+                return values;
+            }
+            StringBuilder value = null;
+            for (i = i + 1; i < json.length(); i++) {
+                char c = json.charAt(i);
+                if (value == null) {
+                    if (c == '"') {
+                        value = new StringBuilder();
+                    } else if (c == ']') {
+                        break;
+                    }
+                } else if (c == '\\' && i + 1 < json.length()) {
+                    value.append(json.charAt(++i));
+                } else if (c == '"') {
+                    values.add(value.toString());
+                    value = null;
+                } else {
+                    value.append(c);
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+import sys
+from pathlib import Path
+
+from transformers import pipeline
+
+# Scores the model behind sentiment.py on a hand-labelled sample of headlines: python evaluate.py [sample.tsv]
+DEFAULT_SAMPLE = Path(__file__).parent / "labeled-sample.tsv"
+
+
+def load_sample(path):
+    rows = []
+    for line in Path(path).read_text(encoding="utf-8").splitlines():
+        if not line.strip() or line.startswith("#"):
+            continue
+        label, text = line.split("\t", 1)
+        rows.append((label, text))
+    return rows
+
+
+if __name__ == '__main__':
+    sample = load_sample(sys.argv[1] if len(sys.argv) > 1 else DEFAULT_SAMPLE)
+    sentiment_pipeline = pipeline("sentiment-analysis")
+
+    results = sentiment_pipeline([text[:512] for _, text in sample])
+    correct = 0
+    for (label, text), result in zip(sample, results):
+        predicted = result['label'].lower()
+        if predicted == label:
+            correct += 1
+        else:
+            print(f"{label} -> {predicted}: {text}")
+
+    print(f"model accuracy {correct}/{len(sample)} = {correct / len(sample):.3f}")
@@ -22,5 +22,25 @@ def analyze():
     except Exception as e:
         return jsonify({"sentiment": "neutral", "error": str(e)}), 500
 
+@app.route('/analyze-batch', methods=['POST'])
+def analyze_batch():
+    data = request.get_json()
+    texts = data.get("texts", [])
+
+    # empty texts stay neutral, the rest go through the pipeline in one call
+    sentiments = ["neutral"] * len(texts)
+    indexes = [i for i, text in enumerate(texts) if text and text.strip()]
+
+    if not indexes:
+        return jsonify({"sentiments": sentiments})
+
+    try:
+        results = sentiment_pipeline([texts[i][:512] for i in indexes])
+        for i, result in zip(indexes, results):
+            sentiments[i] = result['label'].lower()
+        return jsonify({"sentiments": sentiments})
+    except Exception as e:
+        return jsonify({"sentiments": sentiments, "error": str(e)}), 500
+
 if __name__ == '__main__':
     app.run(host="0.0.0.0", port=5000)